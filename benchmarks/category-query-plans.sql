@@ -0,0 +1,76 @@
+-- Before/after query plans for the category/difficulty normalization.
+--
+-- Builds the old (free-text, unindexed) and new (lookup ids + composite index)
+-- question layouts side by side in a scratch schema with the same synthetic
+-- data, then runs EXPLAIN (ANALYZE, BUFFERS) for the queries QuestionDao issues.
+--
+--   psql -d NewQuizAppdb -f benchmarks/category-query-plans.sql
+--
+-- Adjust :rows for your bank size. Drops the scratch schema when done.
+
+\set rows 1000000
+DROP SCHEMA IF EXISTS plan_bench CASCADE;
+CREATE SCHEMA plan_bench;
+SET search_path = plan_bench;
+
+-- before: category and difficulty stored inline as text, no index
+CREATE TABLE question_before (
+    id serial PRIMARY KEY,
+    question_title varchar(255), option1 varchar(255), option2 varchar(255),
+    option3 varchar(255), option4 varchar(255), right_answer varchar(255),
+    difficultylevel varchar(255), category varchar(255)
+);
+INSERT INTO question_before (question_title, option1, option2, option3, option4, right_answer, difficultylevel, category)
+SELECT 'Question ' || g, 'a', 'b', 'c', 'd', 'a',
+       (ARRAY['easy', 'medium', 'hard'])[1 + g % 3],
+       'category-' || (g % 40)
+FROM generate_series(1, :rows) g;
+
+-- after: smallint lookup ids and idx_question_category_difficulty
+CREATE TABLE category (id smallserial PRIMARY KEY, name varchar(100) NOT NULL UNIQUE);
+CREATE TABLE difficulty_level (id smallserial PRIMARY KEY, name varchar(100) NOT NULL UNIQUE);
+INSERT INTO category (name) SELECT DISTINCT category FROM question_before;
+INSERT INTO difficulty_level (name) SELECT DISTINCT difficultylevel FROM question_before;
+CREATE TABLE question (
+    id serial PRIMARY KEY,
+    question_title varchar(255), option1 varchar(255), option2 varchar(255),
+    option3 varchar(255), option4 varchar(255), right_answer varchar(255),
+    difficulty_id smallint REFERENCES difficulty_level (id),
+    category_id smallint REFERENCES category (id)
+);
+INSERT INTO question (id, question_title, option1, option2, option3, option4, right_answer, difficulty_id, category_id)
+SELECT q.id, q.question_title, q.option1, q.option2, q.option3, q.option4, q.right_answer, d.id, c.id
+FROM question_before q
+JOIN difficulty_level d ON d.name = q.difficultylevel
+JOIN category c ON c.name = q.category;
+CREATE INDEX idx_question_category_difficulty ON question (category_id, difficulty_id);
+ANALYZE;
+
+\echo '=== findByCategory: before'
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM question_before WHERE category = 'category-7';
+\echo '=== findByCategory: after'
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM question WHERE category_id = (SELECT id FROM category WHERE name = 'category-7');
+
+\echo '=== findRandomQuestionsByCategory: before'
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM question_before q WHERE q.category = 'category-7' ORDER BY RANDOM() LIMIT 10;
+\echo '=== findRandomQuestionsByCategory: after'
+EXPLAIN (ANALYZE, BUFFERS) SELECT q.* FROM question q JOIN category c ON c.id = q.category_id
+WHERE c.name = 'category-7' ORDER BY RANDOM() LIMIT 10;
+
+\echo '=== findDistinctCategories: before'
+EXPLAIN (ANALYZE, BUFFERS) SELECT DISTINCT category FROM question_before;
+\echo '=== findDistinctCategories: after'
+EXPLAIN (ANALYZE, BUFFERS) SELECT c.name FROM category c
+WHERE EXISTS (SELECT 1 FROM question q WHERE q.category_id = c.id) ORDER BY c.name;
+
+\echo '=== category + difficulty: before'
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM question_before WHERE category = 'category-7' AND difficultylevel = 'hard';
+\echo '=== category + difficulty: after'
+EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM question WHERE category_id = 8 AND difficulty_id = 3;
+
+\echo '=== table sizes'
+SELECT relname, pg_size_pretty(pg_total_relation_size(oid)) FROM pg_class
+WHERE relname IN ('question_before', 'question', 'idx_question_category_difficulty');
+
+RESET search_path;
+DROP SCHEMA plan_bench CASCADE;
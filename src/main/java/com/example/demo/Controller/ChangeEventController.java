@@ -0,0 +1,20 @@
+package com.example.demo.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.events.ChangeEventBus;
+
+@RestController
+public class ChangeEventController {
+	@Autowired
+	ChangeEventBus eventBus;
+
+	@GetMapping(value = "user/events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamChanges() {
+		return eventBus.subscribe();
+	}
+}
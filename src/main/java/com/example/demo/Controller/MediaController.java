@@ -0,0 +1,122 @@
+package com.example.demo.Controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.Service.MediaStore;
+import com.example.demo.Service.QuestionService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+public class MediaController {
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	@Autowired
+	QuestionService questionService;
+	@Autowired
+	MediaStore mediaStore;
+
+	// Raw request body with the media's Content-Type, e.g. image/png or audio/mpeg
+	@PostMapping("admin/question/{id}/media")
+	public ResponseEntity<String> upload(@PathVariable int id, HttpServletRequest request) throws IOException {
+		return questionService.addMedia(id, request.getInputStream(), request.getContentType());
+	}
+
+	@DeleteMapping("admin/question/{id}/media/{ref}")
+	public ResponseEntity<String> remove(@PathVariable int id, @PathVariable String ref) {
+		return questionService.removeMedia(id, ref);
+	}
+
+	/**
+	 * Serves a media file without buffering it: through Tomcat's sendfile when
+	 * available, otherwise {@link FileChannel#transferTo}. Refs are content
+	 * hashes, so the hash is a strong ETag and responses are cacheable forever.
+	 * A single byte range is honoured; multi-range requests get the whole file.
+	 */
+	@GetMapping("user/media/{ref}")
+	public void serve(@PathVariable String ref, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		MediaStore.Media media = mediaStore.resolve(ref);
+		if (media == null) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		String etag = "\"" + media.sha256() + "\"";
+		response.setHeader(HttpHeaders.ETAG, etag);
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+		if (ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag))) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		try (FileChannel channel = FileChannel.open(media.file(), StandardOpenOption.READ)) {
+			long length = channel.size();
+			long start = 0;
+			long end = length - 1;
+			String range = request.getHeader(HttpHeaders.RANGE);
+			String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+			if (range != null && (ifRange == null || ifRange.equals(etag))) {
+				List<HttpRange> ranges;
+				try {
+					ranges = HttpRange.parseRanges(range);
+				} catch (IllegalArgumentException e) {
+					ranges = List.of();
+				}
+				if (ranges.size() == 1) {
+					try {
+						start = ranges.get(0).getRangeStart(length);
+						end = ranges.get(0).getRangeEnd(length);
+					} catch (IllegalArgumentException e) {
+						start = length;
+					}
+					if (start >= length || start > end) {
+						response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+						response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+						return;
+					}
+					response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+					response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+				}
+			}
+			long count = end - start + 1;
+			response.setContentType(media.contentType());
+			response.setContentLengthLong(count);
+			if ("HEAD".equals(request.getMethod()) || count == 0) {
+				return;
+			}
+			if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+				// Tomcat copies file to socket in the kernel once this request returns
+				request.setAttribute(SENDFILE_FILENAME, media.file().toAbsolutePath().toString());
+				request.setAttribute(SENDFILE_START, start);
+				request.setAttribute(SENDFILE_END, end + 1);
+				return;
+			}
+			WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+			for (long sent = 0; sent < count;) {
+				sent += channel.transferTo(start + sent, count - sent, out);
+			}
+		}
+	}
+}
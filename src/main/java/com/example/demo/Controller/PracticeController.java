@@ -0,0 +1,23 @@
+package com.example.demo.Controller;
+
+import java.security.Principal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.Model.QuestionWrapper;
+import com.example.demo.Service.PracticeService;
+
+@RestController
+public class PracticeController {
+	@Autowired
+	PracticeService practiceService;
+
+	@GetMapping("user/practice/{category}/next")
+	public ResponseEntity<QuestionWrapper> next(@PathVariable String category, Principal principal) {
+		return practiceService.next(principal.getName(), category);
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.demo.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.Service.QuestionBankArchiveService;
+
+@RestController
+@RequestMapping("admin/bank")
+public class QuestionBankController {
+	@Autowired
+	QuestionBankArchiveService archiveService;
+
+	// Writes questions, quizzes and quiz_question to quiz.bank.dir/{file}
+	@PostMapping("/export")
+	public ResponseEntity<?> export(@RequestParam String file) {
+		try {
+			return new ResponseEntity<>(archiveService.export(file), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return new ResponseEntity<>("Export failed: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	// Replaces the whole question bank with quiz.bank.dir/{file}
+	@PostMapping("/restore")
+	public ResponseEntity<?> restore(@RequestParam String file) {
+		try {
+			return new ResponseEntity<>(archiveService.restore(file), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+		} catch (java.nio.file.NoSuchFileException e) {
+			return new ResponseEntity<>("No such archive: " + file, HttpStatus.NOT_FOUND);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return new ResponseEntity<>("Restore failed: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+}
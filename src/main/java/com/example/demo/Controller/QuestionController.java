@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.demo.Model.BulkResult;
 import com.example.demo.Model.Question;
 import com.example.demo.Service.QuestionService;
 
@@ -59,4 +60,20 @@ public ResponseEntity<String> deleteQuestion(@PathVariable int id) {
 public ResponseEntity<String> updateQuestion(@PathVariable int id, @RequestBody Question question) {
     return service.updateQuestion(id, question);
 }
+
+	// Bulk operations answer with affected/skipped counts; questions used by a quiz are never deleted
+	@PostMapping("/delete")
+	public ResponseEntity<BulkResult> deleteQuestions(@RequestBody List<Integer> ids) {
+		return service.deleteQuestions(ids);
+	}
+
+	@DeleteMapping("/delete/category/{category}")
+	public ResponseEntity<BulkResult> deleteByCategory(@PathVariable String category) {
+		return service.deleteByCategory(category);
+	}
+
+	@PutMapping("/bulk")
+	public ResponseEntity<BulkResult> bulkUpdate(@RequestBody QuestionService.BulkUpdate update) {
+		return service.bulkUpdate(update);
+	}
 }
@@ -1,6 +1,7 @@
 package com.example.demo.Controller;
 
 
+import java.security.Principal;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,11 +11,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.demo.Model.BulkResult;
 import com.example.demo.Model.QuestionWrapper;
 import com.example.demo.Model.Quiz;
+import com.example.demo.Model.QuizResult;
 import com.example.demo.Model.Response;
 import com.example.demo.Service.QuizService;
 
@@ -24,8 +28,8 @@ public class QuizController {
 	@Autowired
 	QuizService quizService;
 	@GetMapping("user/quiz/get/{id}")
-	public ResponseEntity<List<QuestionWrapper>> getQuizQuestions (@PathVariable int id){
-		return quizService.getQuizQuestions(id);
+	public ResponseEntity<List<QuestionWrapper>> getQuizQuestions (@PathVariable int id, Principal principal){
+		return quizService.getQuizQuestions(id, principal.getName());
 	}
 	
 	
@@ -35,8 +39,9 @@ public class QuizController {
 	}
 	
 	@PostMapping ("user/quiz/submit/{id}") 
-	public ResponseEntity <Integer> submitQuiz(@PathVariable int id, @RequestBody List<Response> responses)  {
-		return quizService.calculateResult(id, responses);
+	public ResponseEntity<QuizResult> submitQuiz(@PathVariable int id, @RequestBody List<Response> responses, Principal principal,
+			@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey)  {
+		return quizService.submit(id, responses, principal.getName(), idempotencyKey);
 	}
 
 	@DeleteMapping("admin/quiz/delete/{id}")
@@ -48,6 +53,12 @@ public class QuizController {
 	public ResponseEntity<String> deleteAllQuizzes() {
 		return quizService.deleteAllQuizzes();
 	}
+
+	// Deletes the listed quizzes with their join rows and snapshots
+	@PostMapping("admin/quiz/delete")
+	public ResponseEntity<BulkResult> deleteQuizzes(@RequestBody List<Integer> ids) {
+		return quizService.deleteQuizzes(ids);
+	}
 	
 	@GetMapping("user/quiz/all")
 	public ResponseEntity<List<Quiz>> getAllQuizzes() {
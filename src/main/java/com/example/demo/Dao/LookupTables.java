@@ -0,0 +1,161 @@
+package com.example.demo.Dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.config.DataSourcePartition;
+
+/**
+ * In-memory name/id dictionaries for the {@code category} and
+ * {@code difficulty_level} lookup tables. They hold a handful of rows, so
+ * every id is cached after its first use and converting a question costs a
+ * map lookup.
+ *
+ * Reads never write: {@link Dictionary#find} (used by the converters, and so
+ * for every query parameter) returns {@code null} for an unknown name, which
+ * matches no row. Only {@link Dictionary#getOrCreate}, called when a question
+ * is saved or bulk-updated, inserts a new name. It does so on a separate
+ * connection, so a failed or concurrent insert never aborts the caller's
+ * transaction and the loser of a race simply reads the winner's id. That
+ * connection comes from the background pool, never from the pool the
+ * calling request already holds a connection of.
+ */
+@Component
+public class LookupTables {
+
+	@Autowired
+	DataSource dataSource;
+
+	/** Length of the lookup name columns, as of the legacy free-text columns. */
+	public static final int MAX_NAME_LENGTH = 255;
+
+	private final Dictionary categories = new Dictionary("category");
+	private final Dictionary difficulties = new Dictionary("difficulty_level");
+
+	public Dictionary categories() {
+		return categories;
+	}
+
+	public Dictionary difficulties() {
+		return difficulties;
+	}
+
+	public static boolean fits(String name) {
+		return name == null || name.length() <= MAX_NAME_LENGTH;
+	}
+
+	public class Dictionary {
+		private final String table;
+		private final Map<String, Short> ids = new ConcurrentHashMap<>();
+		private final Map<Short, String> names = new ConcurrentHashMap<>();
+
+		Dictionary(String table) {
+			this.table = table;
+		}
+
+		/** @return the id of {@code name}, or {@code null} if it is unknown */
+		public Short find(String name) {
+			if (name == null) {
+				return null;
+			}
+			Short id = ids.get(name);
+			if (id != null) {
+				return id;
+			}
+			try (Connection c = DataSourcePartition.BACKGROUND.getConnection(dataSource)) {
+				id = select(c, name);
+			} catch (SQLException e) {
+				throw new DataAccessResourceFailureException("Could not read " + table + " " + name, e);
+			}
+			if (id != null) {
+				remember(id, name);
+			}
+			return id;
+		}
+
+		/**
+		 * @return the id of {@code name}, inserting it first if needed
+		 * @throws IllegalArgumentException if it is longer than {@value LookupTables#MAX_NAME_LENGTH}
+		 */
+		public Short getOrCreate(String name) {
+			if (name == null) {
+				return null;
+			}
+			Short id = ids.get(name);
+			return id != null ? id : load(name);
+		}
+
+		public String nameOf(Short id) {
+			if (id == null) {
+				return null;
+			}
+			String name = names.get(id);
+			if (name != null) {
+				return name;
+			}
+			try (Connection c = DataSourcePartition.BACKGROUND.getConnection(dataSource);
+					PreparedStatement ps = c.prepareStatement("SELECT name FROM " + table + " WHERE id = ?")) {
+				ps.setShort(1, id);
+				try (ResultSet rs = ps.executeQuery()) {
+					if (!rs.next()) {
+						return null;
+					}
+					remember(id, rs.getString(1));
+					return rs.getString(1);
+				}
+			} catch (SQLException e) {
+				throw new DataAccessResourceFailureException("Could not read " + table + " " + id, e);
+			}
+		}
+
+		private Short load(String name) {
+			if (!fits(name)) {
+				throw new IllegalArgumentException(table + " longer than " + MAX_NAME_LENGTH + " characters");
+			}
+			try (Connection c = DataSourcePartition.BACKGROUND.getConnection(dataSource)) {
+				c.setAutoCommit(true);
+				Short id = select(c, name);
+				if (id == null) {
+					try (PreparedStatement ps = c.prepareStatement("INSERT INTO " + table + " (name) VALUES (?)")) {
+						ps.setString(1, name);
+						ps.executeUpdate();
+					} catch (SQLException duplicate) {
+						// another node or thread inserted it first
+					}
+					id = select(c, name);
+				}
+				if (id == null) {
+					throw new DataAccessResourceFailureException("Could not create " + table + " " + name);
+				}
+				remember(id, name);
+				return id;
+			} catch (SQLException e) {
+				throw new DataAccessResourceFailureException("Could not resolve " + table + " " + name, e);
+			}
+		}
+
+		private Short select(Connection c, String name) throws SQLException {
+			try (PreparedStatement ps = c.prepareStatement("SELECT id FROM " + table + " WHERE name = ?")) {
+				ps.setString(1, name);
+				try (ResultSet rs = ps.executeQuery()) {
+					return rs.next() ? rs.getShort(1) : null;
+				}
+			}
+		}
+
+		private void remember(Short id, String name) {
+			ids.put(name, id);
+			names.put(id, name);
+		}
+	}
+}
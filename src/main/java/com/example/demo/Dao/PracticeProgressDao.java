@@ -0,0 +1,11 @@
+package com.example.demo.Dao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.Model.PracticeProgress;
+
+@Repository
+public interface PracticeProgressDao extends JpaRepository<PracticeProgress, String> {
+
+}
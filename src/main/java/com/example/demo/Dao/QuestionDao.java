@@ -1,10 +1,13 @@
 package com.example.demo.Dao;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.Model.Question;
 
@@ -12,10 +15,54 @@ import com.example.demo.Model.Question;
 public interface QuestionDao extends JpaRepository<Question, Integer> {
 	List<Question> findByCategory(String category);
 	
-	@Query(value = "SELECT * FROM question q WHERE q.category = ?1 ORDER BY RANDOM() LIMIT ?2", nativeQuery = true)
+	@Query(value = "SELECT q.* FROM question q JOIN category c ON c.id = q.category_id WHERE c.name = ?1 ORDER BY RANDOM() LIMIT ?2", nativeQuery = true)
 	List<Question> findRandomQuestionsByCategory(String category, int numQ);
 	
-	@Query(value = "SELECT DISTINCT category FROM question", nativeQuery = true)
+	// Scans the small lookup table and probes idx_question_category_difficulty per category
+	@Query(value = "SELECT c.name FROM category c WHERE EXISTS (SELECT 1 FROM question q WHERE q.category_id = c.id) ORDER BY c.name", nativeQuery = true)
 	List<String> findDistinctCategories();
 
+	@Query(value = "SELECT q.id FROM question q JOIN category c ON c.id = q.category_id WHERE c.name = ?1", nativeQuery = true)
+	List<Integer> findIdsByCategory(String category);
+
+	@Query(value = "SELECT COUNT(*) FROM question q JOIN category c ON c.id = q.category_id WHERE c.name = ?1", nativeQuery = true)
+	int countByCategoryName(String category);
+
+	// Set-based deletes skip questions still used by a quiz rather than failing on the quiz_question foreign key.
+	// ...ByIdIn binds one parameter per id: callers pass at most a few thousand at a time
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query(value = "DELETE FROM question WHERE id IN ?1 "
+			+ "AND NOT EXISTS (SELECT 1 FROM quiz_question qq WHERE qq.question_id = question.id)", nativeQuery = true)
+	int deleteUnusedByIdIn(Collection<Integer> ids);
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query(value = "DELETE FROM question WHERE category_id = (SELECT c.id FROM category c WHERE c.name = ?1) "
+			+ "AND NOT EXISTS (SELECT 1 FROM quiz_question qq WHERE qq.question_id = question.id)", nativeQuery = true)
+	int deleteUnusedByCategory(String category);
+
+	// Bulk updates bind names through the read-only lookup converters: create new names first
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Question q SET q.category = ?2 WHERE q.id IN ?1")
+	int updateCategoryByIdIn(Collection<Integer> ids, String category);
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Question q SET q.difficultylevel = ?2 WHERE q.id IN ?1")
+	int updateDifficultyByIdIn(Collection<Integer> ids, String difficultylevel);
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Question q SET q.category = ?2 WHERE q.category = ?1")
+	int updateCategoryByCategory(String category, String newCategory);
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Question q SET q.difficultylevel = ?2 WHERE q.category = ?1")
+	int updateDifficultyByCategory(String category, String difficultylevel);
+
 }
@@ -0,0 +1,54 @@
+package com.example.demo.Dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.Model.QuestionMedia;
+
+@Repository
+public interface QuestionMediaDao extends JpaRepository<QuestionMedia, Integer> {
+	List<QuestionMedia> findByQuestionIdOrderByPosition(int questionId);
+
+	List<QuestionMedia> findByQuestionIdInOrderByQuestionIdAscPositionAsc(Collection<Integer> questionIds);
+
+	/** Media refs per question, in attachment order, in one query. */
+	default Map<Integer, List<String>> refsByQuestion(Collection<Integer> questionIds) {
+		Map<Integer, List<String>> refs = new HashMap<>();
+		if (questionIds.isEmpty()) {
+			return refs;
+		}
+		for (QuestionMedia m : findByQuestionIdInOrderByQuestionIdAscPositionAsc(questionIds)) {
+			refs.computeIfAbsent(m.getQuestionId(), k -> new ArrayList<>()).add(m.getRef());
+		}
+		return refs;
+	}
+
+	@Query("SELECT COALESCE(MAX(m.position) + 1, 0) FROM QuestionMedia m WHERE m.questionId = ?1")
+	int nextPosition(int questionId);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM QuestionMedia m WHERE m.questionId = ?1")
+	int deleteByQuestionId(int questionId);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM QuestionMedia m WHERE m.questionId = ?1 AND m.ref = ?2")
+	int deleteByQuestionIdAndRef(int questionId, String ref);
+
+	// After a bulk question delete; one pass over question_media instead of a statement per question
+	@Transactional
+	@Modifying
+	@Query(value = "DELETE FROM question_media WHERE NOT EXISTS "
+			+ "(SELECT 1 FROM question q WHERE q.id = question_media.question_id)", nativeQuery = true)
+	int deleteOrphans();
+}
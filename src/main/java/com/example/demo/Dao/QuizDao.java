@@ -1,11 +1,44 @@
 package com.example.demo.Dao;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.Model.Quiz;
 
 @Repository
 public interface QuizDao extends JpaRepository<Quiz,Integer> {
 
+	// Quizzes are returned with their questions, so fetch them in the same query.
+	@Override
+	@EntityGraph(attributePaths = "questions")
+	List<Quiz> findAll();
+
+	// Set-based deletes: join rows first, since quiz_question references quiz. One parameter per id, so callers chunk
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query(value = "DELETE FROM quiz_question WHERE quiz_id IN ?1", nativeQuery = true)
+	int deleteQuestionLinksByQuizIdIn(Collection<Integer> ids);
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query(value = "DELETE FROM quiz WHERE id IN ?1", nativeQuery = true)
+	int deleteByIdIn(Collection<Integer> ids);
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query(value = "DELETE FROM quiz_question", nativeQuery = true)
+	int deleteAllQuestionLinks();
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query(value = "DELETE FROM quiz", nativeQuery = true)
+	int deleteAllQuizzes();
 }
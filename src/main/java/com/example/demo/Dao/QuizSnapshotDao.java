@@ -0,0 +1,20 @@
+package com.example.demo.Dao;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.Model.QuizSnapshot;
+
+@Repository
+public interface QuizSnapshotDao extends JpaRepository<QuizSnapshot, Integer> {
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("DELETE FROM QuizSnapshot s WHERE s.quizId IN ?1")
+	int deleteByQuizIdIn(Collection<Integer> quizIds);
+}
@@ -0,0 +1,9 @@
+package com.example.demo.Model;
+
+/**
+ * Outcome of a set-based admin operation: {@code affected} rows were changed,
+ * {@code skipped} were asked for but left alone (unknown ids, or questions
+ * still used by a quiz).
+ */
+public record BulkResult(int affected, int skipped) {
+}
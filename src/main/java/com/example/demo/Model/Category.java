@@ -0,0 +1,21 @@
+package com.example.demo.Model;
+
+import com.example.demo.Dao.LookupTables;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+/** Lookup row behind {@link Question#getCategory()}; questions store only the id. */
+@Entity
+@Data
+public class Category {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private short id;
+	@Column(nullable = false, unique = true, length = LookupTables.MAX_NAME_LENGTH)
+	private String name;
+}
@@ -0,0 +1,26 @@
+package com.example.demo.Model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.demo.Dao.LookupTables;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/** Maps a difficulty level name to its small-integer lookup id. */
+@Converter
+public class DifficultyConverter implements AttributeConverter<String, Short> {
+	@Autowired
+	LookupTables lookupTables;
+
+	// read-only: names are created by QuestionLookupListener before a write
+	@Override
+	public Short convertToDatabaseColumn(String name) {
+		return lookupTables.difficulties().find(name);
+	}
+
+	@Override
+	public String convertToEntityAttribute(Short id) {
+		return lookupTables.difficulties().nameOf(id);
+	}
+}
@@ -0,0 +1,40 @@
+package com.example.demo.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+/**
+ * Questions a user has already been served in practice mode, as a serialized
+ * compressed bitset over question ids. Written in batches, so a crash can
+ * forget the last few seconds of progress but never corrupts it.
+ */
+@Entity
+@Data
+public class PracticeProgress {
+	@Id
+	private String username;
+	@Column(length = 1048576)
+	private byte[] seen;
+	private long updatedAt;
+
+	public String getUsername() {
+		return username;
+	}
+	public void setUsername(String username) {
+		this.username = username;
+	}
+	public byte[] getSeen() {
+		return seen;
+	}
+	public void setSeen(byte[] seen) {
+		this.seen = seen;
+	}
+	public long getUpdatedAt() {
+		return updatedAt;
+	}
+	public void setUpdatedAt(long updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
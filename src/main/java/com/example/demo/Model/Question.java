@@ -1,15 +1,27 @@
 package com.example.demo.Model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Data;
 
 
 @Data
 @Entity
-
+@EntityListeners(QuestionLookupListener.class)
+@Table(indexes = @Index(name = "idx_question_category_difficulty", columnList = "category_id, difficulty_id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question")
 
 public class Question {
 	@Id
@@ -21,7 +33,12 @@ public class Question {
 	private String option3;
 	private String option4;
 	private String right_answer;
+	// Stored as small-integer ids into the difficulty_level and category lookup tables
+	@Convert(converter = DifficultyConverter.class)
+	@Column(name = "difficulty_id")
 	private String difficultylevel;
+	@Convert(converter = CategoryConverter.class)
+	@Column(name = "category_id")
 	private String category;
 	
 	public int getId() {
@@ -0,0 +1,25 @@
+package com.example.demo.Model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.demo.Dao.LookupTables;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Creates a question's category and difficulty lookup rows before it is
+ * written, so the converters can stay read-only and a query for an unknown
+ * name never inserts one.
+ */
+public class QuestionLookupListener {
+	@Autowired
+	LookupTables lookupTables;
+
+	@PrePersist
+	@PreUpdate
+	public void createLookups(Question question) {
+		lookupTables.categories().getOrCreate(question.getCategory());
+		lookupTables.difficulties().getOrCreate(question.getDifficultylevel());
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.demo.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * An image or audio clip attached to a question. {@code ref} names the file in
+ * the content-addressed media store ({@code <sha-256>.<ext>}), so identical
+ * uploads share one file and a ref never changes meaning.
+ */
+@Entity
+@Data
+@Table(indexes = @Index(name = "idx_question_media_question", columnList = "question_id, position"))
+public class QuestionMedia {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private int id;
+	@Column(name = "question_id", nullable = false)
+	private int questionId;
+	private int position;
+	@Column(nullable = false, length = 80)
+	private String ref;
+
+	public int getId() {
+		return id;
+	}
+	public void setId(int id) {
+		this.id = id;
+	}
+	public int getQuestionId() {
+		return questionId;
+	}
+	public void setQuestionId(int questionId) {
+		this.questionId = questionId;
+	}
+	public int getPosition() {
+		return position;
+	}
+	public void setPosition(int position) {
+		this.position = position;
+	}
+	public String getRef() {
+		return ref;
+	}
+	public void setRef(String ref) {
+		this.ref = ref;
+	}
+}
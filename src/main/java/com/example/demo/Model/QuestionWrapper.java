@@ -1,9 +1,12 @@
 package com.example.demo.Model;
 
+import java.util.List;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Transient;
 import lombok.Data;
 
 @Entity
@@ -17,6 +20,9 @@ public class QuestionWrapper {
 	private String option2;
 	private String option3;
 	private String option4;
+	// refs of attached images/audio, served from user/media/{ref}
+	@Transient
+	private List<String> media = List.of();
 	
 	public int getId() {
 		return id;
@@ -54,6 +60,17 @@ public class QuestionWrapper {
 	public void setOption4(String option4) {
 		this.option4 = option4;
 	}
+	public List<String> getMedia() {
+		return media;
+	}
+	public void setMedia(List<String> media) {
+		this.media = media;
+	}
+	public QuestionWrapper(int id, String question_title, String option1, String option2, String option3, String option4,
+			List<String> media) {
+		this(id, question_title, option1, option2, option3, option4);
+		this.media = media;
+	}
 	public QuestionWrapper(int id, String question_title, String option1, String option2, String option3, String option4) {
 		super();
 		this.id = id;
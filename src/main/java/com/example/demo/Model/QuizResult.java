@@ -0,0 +1,13 @@
+package com.example.demo.Model;
+
+import java.util.List;
+
+/**
+ * Score of one submission. {@code questions} lists every question of the quiz
+ * in quiz order, answered or not.
+ */
+public record QuizResult(int score, int answered, int total, List<QuestionResult> questions) {
+
+	public record QuestionResult(int id, boolean answered, boolean correct) {
+	}
+}
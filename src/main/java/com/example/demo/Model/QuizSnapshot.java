@@ -0,0 +1,56 @@
+package com.example.demo.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+/**
+ * Frozen copy of a quiz taken at creation time. The ordered questions and the
+ * answer key are stored as two compact binary blobs so that serving or scoring
+ * a quiz is a single primary-key read, and later edits to {@link Question}
+ * rows never change a quiz that candidates are already taking.
+ */
+@Entity
+@Data
+public class QuizSnapshot {
+	@Id
+	private int quizId;
+	private int version;
+	private int questionCount;
+	@Column(length = 1048576)
+	private byte[] questions;
+	@Column(length = 1048576)
+	private byte[] answerKey;
+
+	public int getQuizId() {
+		return quizId;
+	}
+	public void setQuizId(int quizId) {
+		this.quizId = quizId;
+	}
+	public int getVersion() {
+		return version;
+	}
+	public void setVersion(int version) {
+		this.version = version;
+	}
+	public int getQuestionCount() {
+		return questionCount;
+	}
+	public void setQuestionCount(int questionCount) {
+		this.questionCount = questionCount;
+	}
+	public byte[] getQuestions() {
+		return questions;
+	}
+	public void setQuestions(byte[] questions) {
+		this.questions = questions;
+	}
+	public byte[] getAnswerKey() {
+		return answerKey;
+	}
+	public void setAnswerKey(byte[] answerKey) {
+		this.answerKey = answerKey;
+	}
+}
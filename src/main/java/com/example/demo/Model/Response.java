@@ -1,5 +1,11 @@
 package com.example.demo.Model;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
 import lombok.Data;
 
 
@@ -25,5 +31,33 @@ public class Response {
 	public void setResponse(String response) {
 		this.response = response;
 	}
+
+	/** SHA-256 over the ids and answers in order; what idempotent submissions are compared by. */
+	public static byte[] digest(List<Response> responses) {
+		MessageDigest sha;
+		try {
+			sha = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		ByteBuffer id = ByteBuffer.allocate(Integer.BYTES);
+		for (Response r : responses) {
+			if (r == null) {
+				sha.update((byte) 0);
+				continue;
+			}
+			sha.update((byte) 1);
+			sha.update(id.clear().putInt(r.getId()).array());
+			if (r.getResponse() == null) {
+				sha.update((byte) 0);
+			} else {
+				byte[] utf8 = r.getResponse().getBytes(StandardCharsets.UTF_8);
+				sha.update((byte) 1);
+				sha.update(id.clear().putInt(utf8.length).array());
+				sha.update(utf8);
+			}
+		}
+		return sha.digest();
+	}
 	
 }
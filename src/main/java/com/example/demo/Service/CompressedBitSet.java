@@ -0,0 +1,205 @@
+package com.example.demo.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Set of non-negative ints in the style of a Roaring bitmap. Values are split
+ * into 65536-wide chunks by their high 16 bits; a chunk holding up to 4096
+ * values is a sorted {@code char[]}, a denser chunk is a 1024-word bitmap, so
+ * neither a few scattered ids nor a fully seen range costs more than about
+ * two bytes per value (8 KB per chunk at most). Not thread-safe.
+ */
+public final class CompressedBitSet {
+
+	private static final int FORMAT_VERSION = 1;
+	private static final int ARRAY_MAX = 4096;
+	private static final int BITMAP_WORDS = 1024;
+
+	private char[] keys = new char[0];
+	private Object[] chunks = new Object[0]; // char[] (sorted, length == cardinality) or long[]
+	private int[] cardinalities = new int[0];
+	private int size;
+
+	public boolean contains(int value) {
+		int i = indexOf((char) (value >>> 16));
+		if (value < 0 || i < 0) {
+			return false;
+		}
+		char low = (char) value;
+		return chunks[i] instanceof long[] bitmap ? (bitmap[low >>> 6] & (1L << low)) != 0
+				: Arrays.binarySearch((char[]) chunks[i], 0, cardinalities[i], low) >= 0;
+	}
+
+	/** @return true if the value was not already present */
+	public boolean add(int value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("Negative value " + value);
+		}
+		char key = (char) (value >>> 16);
+		char low = (char) value;
+		int i = indexOf(key);
+		if (i < 0) {
+			i = -i - 1;
+			insertChunk(i, key);
+		}
+		if (chunks[i] instanceof long[] bitmap) {
+			long bit = 1L << low;
+			if ((bitmap[low >>> 6] & bit) != 0) {
+				return false;
+			}
+			bitmap[low >>> 6] |= bit;
+			cardinalities[i]++;
+			return true;
+		}
+		char[] values = (char[]) chunks[i];
+		int n = cardinalities[i];
+		int at = Arrays.binarySearch(values, 0, n, low);
+		if (at >= 0) {
+			return false;
+		}
+		at = -at - 1;
+		if (n == ARRAY_MAX) {
+			long[] bitmap = new long[BITMAP_WORDS];
+			for (int k = 0; k < n; k++) {
+				bitmap[values[k] >>> 6] |= 1L << values[k];
+			}
+			bitmap[low >>> 6] |= 1L << low;
+			chunks[i] = bitmap;
+		} else {
+			if (n == values.length) {
+				values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, n * 2)));
+				chunks[i] = values;
+			}
+			System.arraycopy(values, at, values, at + 1, n - at);
+			values[at] = low;
+		}
+		cardinalities[i]++;
+		return true;
+	}
+
+	/** Adds every value of {@code other}; @return how many were new */
+	public long addAll(CompressedBitSet other) {
+		long added = 0;
+		for (int i = 0; i < other.size; i++) {
+			int high = other.keys[i] << 16;
+			if (other.chunks[i] instanceof long[] bitmap) {
+				for (int w = 0; w < BITMAP_WORDS; w++) {
+					for (long word = bitmap[w]; word != 0; word &= word - 1) {
+						if (add(high | (w << 6) | Long.numberOfTrailingZeros(word))) {
+							added++;
+						}
+					}
+				}
+			} else {
+				char[] values = (char[]) other.chunks[i];
+				for (int k = 0; k < other.cardinalities[i]; k++) {
+					if (add(high | values[k])) {
+						added++;
+					}
+				}
+			}
+		}
+		return added;
+	}
+
+	public long cardinality() {
+		long total = 0;
+		for (int i = 0; i < size; i++) {
+			total += cardinalities[i];
+		}
+		return total;
+	}
+
+	/** Chunk key, kind and contents; array chunks are trimmed to their cardinality. */
+	public byte[] toBytes() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + size * 64);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(FORMAT_VERSION);
+			out.writeInt(size);
+			for (int i = 0; i < size; i++) {
+				out.writeChar(keys[i]);
+				if (chunks[i] instanceof long[] bitmap) {
+					out.writeInt(-cardinalities[i]);
+					for (long word : bitmap) {
+						out.writeLong(word);
+					}
+				} else {
+					char[] values = (char[]) chunks[i];
+					out.writeInt(cardinalities[i]);
+					for (int k = 0; k < cardinalities[i]; k++) {
+						out.writeChar(values[k]);
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	public static CompressedBitSet fromBytes(byte[] blob) {
+		CompressedBitSet set = new CompressedBitSet();
+		if (blob == null || blob.length == 0) {
+			return set;
+		}
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(blob))) {
+			int version = in.readUnsignedByte();
+			if (version != FORMAT_VERSION) {
+				throw new IOException("Unsupported bitset format version " + version);
+			}
+			int n = in.readInt();
+			set.keys = new char[n];
+			set.chunks = new Object[n];
+			set.cardinalities = new int[n];
+			for (int i = 0; i < n; i++) {
+				set.keys[i] = in.readChar();
+				int header = in.readInt();
+				if (header < 0) {
+					long[] bitmap = new long[BITMAP_WORDS];
+					for (int w = 0; w < BITMAP_WORDS; w++) {
+						bitmap[w] = in.readLong();
+					}
+					set.chunks[i] = bitmap;
+					set.cardinalities[i] = -header;
+				} else {
+					char[] values = new char[header];
+					for (int k = 0; k < header; k++) {
+						values[k] = in.readChar();
+					}
+					set.chunks[i] = values;
+					set.cardinalities[i] = header;
+				}
+			}
+			set.size = n;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Corrupt bitset", e);
+		}
+		return set;
+	}
+
+	private int indexOf(char key) {
+		return Arrays.binarySearch(keys, 0, size, key);
+	}
+
+	private void insertChunk(int at, char key) {
+		if (size == keys.length) {
+			int capacity = Math.max(4, size * 2);
+			keys = Arrays.copyOf(keys, capacity);
+			chunks = Arrays.copyOf(chunks, capacity);
+			cardinalities = Arrays.copyOf(cardinalities, capacity);
+		}
+		System.arraycopy(keys, at, keys, at + 1, size - at);
+		System.arraycopy(chunks, at, chunks, at + 1, size - at);
+		System.arraycopy(cardinalities, at, cardinalities, at + 1, size - at);
+		keys[at] = key;
+		chunks[at] = new char[4];
+		cardinalities[at] = 0;
+		size++;
+	}
+}
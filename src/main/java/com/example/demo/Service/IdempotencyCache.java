@@ -0,0 +1,117 @@
+package com.example.demo.Service;
+
+import java.security.MessageDigest;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Results of idempotent requests by key, with single-flight: the first caller
+ * for a key runs the computation and every concurrent or later caller within
+ * {@code ttlMs} gets the same future. A hit is one map read.
+ *
+ * All entries live for the same TTL, so insertion order is also expiry order
+ * and a plain FIFO queue is enough to expire entries and enforce
+ * {@code maxEntries} in amortized O(1). Failed computations, and results the
+ * {@code keep} predicate rejects, are forgotten once done so the client can
+ * retry them; callers already waiting still get them.
+ *
+ * Requests are told apart by a digest of their body, never the body itself,
+ * so an entry costs the same whatever the request size.
+ */
+public final class IdempotencyCache<V> {
+
+	/** The key was reused with a different request. */
+	public static class KeyReuseException extends IllegalStateException {
+		public KeyReuseException(String key) {
+			super("Idempotency key reused with a different request: " + key);
+		}
+	}
+
+	private record Entry<V>(byte[] fingerprint, CompletableFuture<V> result, long expiresAt) {
+	}
+
+	private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+	private final Queue<String> order = new ConcurrentLinkedQueue<>();
+	private final int maxEntries;
+	private final long ttlMs;
+	private final Predicate<? super V> keep;
+
+	public IdempotencyCache(int maxEntries, long ttlMs) {
+		this(maxEntries, ttlMs, value -> true);
+	}
+
+	/** @param keep which completed results to replay; the rest are recomputed on retry */
+	public IdempotencyCache(int maxEntries, long ttlMs, Predicate<? super V> keep) {
+		this.maxEntries = maxEntries;
+		this.ttlMs = ttlMs;
+		this.keep = keep;
+	}
+
+	/**
+	 * @param fingerprint digest of the request body; a hit with a different
+	 *                    fingerprint fails with {@link KeyReuseException}
+	 */
+	public CompletableFuture<V> get(String key, byte[] fingerprint, Supplier<CompletableFuture<V>> compute) {
+		long now = System.currentTimeMillis();
+		Entry<V> cached = entries.get(key);
+		if (cached == null || cached.expiresAt() <= now) {
+			Entry<V> fresh = new Entry<>(fingerprint, new CompletableFuture<>(), now + ttlMs);
+			cached = entries.compute(key, (k, old) -> old != null && old.expiresAt() > now ? old : fresh);
+			if (cached == fresh) {
+				order.add(key);
+				evict(now);
+				run(key, fresh, compute);
+				return fresh.result();
+			}
+		}
+		if (!MessageDigest.isEqual(cached.fingerprint(), fingerprint)) {
+			return CompletableFuture.failedFuture(new KeyReuseException(key));
+		}
+		return cached.result();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private void run(String key, Entry<V> entry, Supplier<CompletableFuture<V>> compute) {
+		CompletableFuture<V> result;
+		try {
+			result = compute.get();
+		} catch (RuntimeException e) {
+			result = CompletableFuture.failedFuture(e);
+		}
+		result.whenComplete((value, failure) -> {
+			if (failure == null) {
+				if (!keep.test(value)) {
+					entries.remove(key, entry);
+				}
+				entry.result().complete(value);
+			} else {
+				entries.remove(key, entry);
+				entry.result().completeExceptionally(failure);
+			}
+		});
+	}
+
+	private void evict(long now) {
+		for (String key = order.peek(); key != null; key = order.peek()) {
+			Entry<V> head = entries.get(key);
+			if (head != null && head.expiresAt() > now && entries.size() <= maxEntries) {
+				return;
+			}
+			key = order.poll();
+			if (key != null) {
+				// a key re-added after expiring is queued twice; only drop what is due
+				Entry<V> entry = entries.get(key);
+				if (entry != null && (entry.expiresAt() <= now || entries.size() > maxEntries)) {
+					entries.remove(key, entry);
+				}
+			}
+		}
+	}
+}
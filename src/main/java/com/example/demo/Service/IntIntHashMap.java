@@ -0,0 +1,60 @@
+package com.example.demo.Service;
+
+/**
+ * Fixed-size int to int map with open addressing and linear probing, built
+ * once and then only read. Keys and values live in two flat arrays at most
+ * half full, so a lookup is a multiply, a shift and usually one or two array
+ * reads, with no boxing. Key 0 marks an empty slot and cannot be stored.
+ * Values are meant to be non-negative: an absent key, or 0, gets -1.
+ */
+public final class IntIntHashMap {
+
+	private final int[] keys;
+	private final int[] values;
+	private final int shift;
+
+	public IntIntHashMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+		keys = new int[capacity];
+		values = new int[capacity];
+		shift = 32 - Integer.numberOfTrailingZeros(capacity);
+	}
+
+	/** @return false if the key was already present (its value is left unchanged) */
+	public boolean put(int key, int value) {
+		if (key == 0) {
+			throw new IllegalArgumentException("Key 0 is reserved");
+		}
+		int mask = keys.length - 1;
+		for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				return false;
+			}
+			if (keys[slot] == 0) {
+				keys[slot] = key;
+				values[slot] = value;
+				return true;
+			}
+		}
+	}
+
+	public int get(int key) {
+		if (key == 0) {
+			return -1;
+		}
+		int mask = keys.length - 1;
+		for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				return values[slot];
+			}
+			if (keys[slot] == 0) {
+				return -1;
+			}
+		}
+	}
+
+	// Fibonacci hashing: the high bits of key * 2^32/phi spread sequential ids evenly
+	private int slot(int key) {
+		return (key * 0x9E3779B9) >>> shift;
+	}
+}
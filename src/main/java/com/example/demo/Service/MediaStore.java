@@ -0,0 +1,111 @@
+package com.example.demo.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed media files on local disk. An upload is streamed to a
+ * temporary file while it is hashed and then moved to
+ * {@code quiz.media.dir/<first two hex digits>/<sha-256>}, so memory use does
+ * not depend on file size and identical uploads are stored once. A media
+ * ref is {@code <sha-256>.<ext>}; the extension carries the content type, so
+ * serving a ref never needs the database.
+ */
+@Component
+public class MediaStore {
+
+	public static class TooLargeException extends IOException {
+		public TooLargeException(long limit) {
+			super("Media larger than " + limit + " bytes");
+		}
+	}
+
+	public record Media(String sha256, String contentType, Path file) {
+	}
+
+	private static final Map<String, String> EXTENSIONS = Map.of("image/png", "png", "image/jpeg", "jpg",
+			"image/gif", "gif", "image/webp", "webp", "audio/mpeg", "mp3", "audio/ogg", "ogg", "audio/wav", "wav",
+			"audio/mp4", "m4a");
+	private static final Map<String, String> CONTENT_TYPES = Map.of("png", "image/png", "jpg", "image/jpeg", "gif",
+			"image/gif", "webp", "image/webp", "mp3", "audio/mpeg", "ogg", "audio/ogg", "wav", "audio/wav", "m4a",
+			"audio/mp4");
+	private static final Pattern REF = Pattern.compile("([0-9a-f]{64})\\.([a-z0-9]{1,4})");
+
+	private final Path directory;
+	private final long maxBytes;
+
+	public MediaStore(@Value("${quiz.media.dir:media}") Path directory,
+			@Value("${quiz.media.max-bytes:20971520}") long maxBytes) {
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+	}
+
+	/** @return the new ref, or {@code null} if the content type is not supported */
+	public String store(InputStream in, String contentType) throws IOException {
+		String extension = contentType == null ? null : EXTENSIONS.get(contentType.split(";")[0].trim().toLowerCase());
+		if (extension == null) {
+			return null;
+		}
+		Files.createDirectories(directory);
+		Path temp = Files.createTempFile(directory, "upload-", ".tmp");
+		try {
+			MessageDigest digest = sha256();
+			byte[] buffer = new byte[64 * 1024];
+			long total = 0;
+			try (OutputStream out = Files.newOutputStream(temp)) {
+				for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+					total += n;
+					if (total > maxBytes) {
+						throw new TooLargeException(maxBytes);
+					}
+					digest.update(buffer, 0, n);
+					out.write(buffer, 0, n);
+				}
+			}
+			String sha256 = HexFormat.of().formatHex(digest.digest());
+			Path target = path(sha256);
+			if (!Files.exists(target)) {
+				Files.createDirectories(target.getParent());
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return sha256 + "." + extension;
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/** @return the stored file for a ref, or {@code null} if the ref is malformed or unknown */
+	public Media resolve(String ref) {
+		Matcher m = REF.matcher(ref);
+		if (!m.matches() || !CONTENT_TYPES.containsKey(m.group(2))) {
+			return null;
+		}
+		Path file = path(m.group(1));
+		return Files.isRegularFile(file) ? new Media(m.group(1), CONTENT_TYPES.get(m.group(2)), file) : null;
+	}
+
+	private Path path(String sha256) {
+		return directory.resolve(sha256.substring(0, 2)).resolve(sha256);
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,271 @@
+package com.example.demo.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Dao.PracticeProgressDao;
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuestionMediaDao;
+import com.example.demo.Model.PracticeProgress;
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionMedia;
+import com.example.demo.Model.QuestionWrapper;
+import com.example.demo.events.ChangeEvent.Entity;
+import com.example.demo.events.ChangeEventBus;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Endless per-category practice that never serves a user the same question
+ * twice. Each category's question ids are loaded once into a shuffled ring;
+ * every user walks the ring from a random offset, skipping ids already in
+ * their {@link CompressedBitSet}. A cursor only moves forward, so each ring
+ * slot is looked at once per user and a request costs O(1) amortized plus
+ * indexed reads of the question and its media refs.
+ *
+ * Seen sets are cached per node and written back in batches every
+ * {@code quiz.practice.flush-ms}; idle users are then dropped from memory.
+ * A flush locks the stored rows and writes the union of the stored and the
+ * cached set, which is also folded back into the cache, so a user served on
+ * several nodes never loses progress. A question served on another node
+ * since the last flush can still come up once more here.
+ * Rings are rebuilt after any question change.
+ */
+@Service
+public class PracticeService {
+
+	private static final Logger log = LoggerFactory.getLogger(PracticeService.class);
+	private static final int LOCK_BATCH = 500;
+
+	private static final class Cursor {
+		final int[] ring;
+		int position;
+		int steps;
+
+		Cursor(int[] ring, int position) {
+			this.ring = ring;
+			this.position = position;
+		}
+	}
+
+	private static final class UserState {
+		final CompressedBitSet seen;
+		final Map<String, Cursor> cursors = new HashMap<>();
+		boolean dirty;
+		// set under the lock when flush drops the state; holders must look the user up again
+		boolean evicted;
+		long lastAccess;
+
+		UserState(CompressedBitSet seen) {
+			this.seen = seen;
+		}
+	}
+
+	@Autowired
+	QuestionDao questionDao;
+	@Autowired
+	PracticeProgressDao progressDao;
+	@Autowired
+	QuestionMediaDao mediaDao;
+	@Autowired
+	JdbcTemplate jdbc;
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	@Autowired
+	ChangeEventBus eventBus;
+	@Value("${quiz.practice.flush-ms:5000}")
+	long flushMs;
+	@Value("${quiz.practice.idle-evict-ms:1800000}")
+	long idleEvictMs;
+
+	private final Map<String, int[]> rings = new ConcurrentHashMap<>();
+	private final Map<String, UserState> users = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "practice-progress-flush");
+		t.setDaemon(true);
+		return t;
+	});
+
+	@PostConstruct
+	public void start() {
+		eventBus.addListener(event -> {
+			if (event.entity() == Entity.QUESTION) {
+				rings.clear();
+			}
+		});
+		flusher.scheduleWithFixedDelay(this::flush, flushMs, flushMs, TimeUnit.MILLISECONDS);
+	}
+
+	/** 404 for an empty category, 204 once the user has seen all of it. */
+	public ResponseEntity<QuestionWrapper> next(String username, String category) {
+		int[] ring = ring(category);
+		if (ring.length == 0) {
+			return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+		}
+		while (true) {
+			UserState user = user(username);
+			int id = -1;
+			synchronized (user) {
+				if (user.evicted) {
+					continue;
+				}
+				user.lastAccess = System.currentTimeMillis();
+				Cursor cursor = user.cursors.get(category);
+				if (cursor == null || cursor.ring != ring) {
+					cursor = new Cursor(ring, ThreadLocalRandom.current().nextInt(ring.length));
+					user.cursors.put(category, cursor);
+				}
+				while (cursor.steps < ring.length) {
+					int candidate = ring[cursor.position];
+					cursor.position = cursor.position + 1 == ring.length ? 0 : cursor.position + 1;
+					cursor.steps++;
+					if (user.seen.add(candidate)) {
+						user.dirty = true;
+						id = candidate;
+						break;
+					}
+				}
+			}
+			if (id < 0) {
+				return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+			}
+			// the ring may still hold a question deleted since it was built
+			Optional<Question> question = questionDao.findById(id);
+			if (question.isPresent()) {
+				Question q = question.get();
+				List<String> media = mediaDao.findByQuestionIdOrderByPosition(id).stream().map(QuestionMedia::getRef)
+						.toList();
+				return new ResponseEntity<>(new QuestionWrapper(q.getId(), q.getQuestion_title(), q.getOption1(),
+						q.getOption2(), q.getOption3(), q.getOption4(), media), HttpStatus.OK);
+			}
+		}
+	}
+
+	int[] ring(String category) {
+		int[] ring = rings.get(category);
+		if (ring != null) {
+			return ring;
+		}
+		List<Integer> ids = questionDao.findIdsByCategory(category);
+		ring = new int[ids.size()];
+		for (int i = 0; i < ring.length; i++) {
+			ring[i] = ids.get(i);
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = ring.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tmp = ring[i];
+			ring[i] = ring[j];
+			ring[j] = tmp;
+		}
+		int[] existing = rings.putIfAbsent(category, ring);
+		return existing != null ? existing : ring;
+	}
+
+	private UserState user(String username) {
+		UserState user = users.get(username);
+		if (user != null) {
+			return user;
+		}
+		Optional<PracticeProgress> progress = progressDao.findById(username);
+		user = new UserState(CompressedBitSet.fromBytes(progress.map(PracticeProgress::getSeen).orElse(null)));
+		UserState existing = users.putIfAbsent(username, user);
+		return existing != null ? existing : user;
+	}
+
+	/**
+	 * Merges every changed seen set into its stored row (one locking select
+	 * and two JDBC batches) and evicts idle users.
+	 */
+	public synchronized void flush() {
+		long now = System.currentTimeMillis();
+		Map<String, UserState> changed = new LinkedHashMap<>();
+		for (Map.Entry<String, UserState> entry : users.entrySet()) {
+			UserState user = entry.getValue();
+			synchronized (user) {
+				if (user.dirty) {
+					user.dirty = false;
+					changed.put(entry.getKey(), user);
+				} else if (now - user.lastAccess > idleEvictMs) {
+					user.evicted = true;
+					users.remove(entry.getKey(), user);
+				}
+			}
+		}
+		if (changed.isEmpty()) {
+			return;
+		}
+		try {
+			new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+				Map<String, byte[]> stored = new HashMap<>();
+				List<String> names = new ArrayList<>(changed.keySet());
+				for (int from = 0; from < names.size(); from += LOCK_BATCH) {
+					List<String> batch = names.subList(from, Math.min(names.size(), from + LOCK_BATCH));
+					jdbc.query("SELECT username, seen FROM practice_progress WHERE username IN ("
+							+ String.join(",", Collections.nCopies(batch.size(), "?")) + ") FOR UPDATE",
+							rs -> {
+								stored.put(rs.getString(1), rs.getBytes(2));
+							}, batch.toArray());
+				}
+				List<Object[]> updates = new ArrayList<>();
+				List<Object[]> inserts = new ArrayList<>();
+				for (Map.Entry<String, UserState> entry : changed.entrySet()) {
+					UserState user = entry.getValue();
+					byte[] previous = stored.get(entry.getKey());
+					byte[] merged;
+					synchronized (user) {
+						if (previous != null) {
+							user.seen.addAll(CompressedBitSet.fromBytes(previous));
+						}
+						merged = user.seen.toBytes();
+					}
+					(stored.containsKey(entry.getKey()) ? updates : inserts)
+							.add(new Object[] { merged, now, entry.getKey() });
+				}
+				if (!updates.isEmpty()) {
+					jdbc.batchUpdate("UPDATE practice_progress SET seen = ?, updated_at = ? WHERE username = ?", updates);
+				}
+				// a row another node inserts meanwhile fails this batch; the retry then merges into it
+				if (!inserts.isEmpty()) {
+					jdbc.batchUpdate("INSERT INTO practice_progress (seen, updated_at, username) VALUES (?, ?, ?)",
+							inserts);
+				}
+			});
+		} catch (RuntimeException e) {
+			log.warn("Could not persist practice progress", e);
+			for (UserState user : changed.values()) {
+				synchronized (user) {
+					user.dirty = true;
+				}
+			}
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		flusher.shutdownNow();
+		flush();
+	}
+}
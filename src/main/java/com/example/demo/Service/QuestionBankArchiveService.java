@@ -0,0 +1,318 @@
+package com.example.demo.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Dao.LookupTables;
+import com.example.demo.events.ChangeEvent.Action;
+import com.example.demo.events.ChangeEvent.Entity;
+import com.example.demo.events.ChangeEventBus;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Binary export and restore of the question bank (questions, quizzes and
+ * quiz_question). Both directions stream rows through JDBC, so memory use does
+ * not grow with the size of the bank.
+ *
+ * File layout: magic, format version, then tagged records. Category and
+ * difficulty strings are dictionary-encoded: the first time a value is seen a
+ * DICT record assigns it an int, and QUESTION records refer to that int.
+ * QUIZ_QUESTION records are written in position order, so positions are
+ * implied. Archives carry names, not lookup ids, and restore into any
+ * database regardless of its lookup table contents. Since version 2 MEDIA
+ * records carry question media refs in attachment order; the media files
+ * themselves stay in quiz.media.dir and are not archived.
+ */
+@Service
+public class QuestionBankArchiveService {
+
+	public record Counts(long questions, long quizzes, long quizQuestions, long media, long bytes) {
+	}
+
+	private static final int MAGIC = 0x51424E4B; // "QBNK"
+	private static final int FORMAT_VERSION = 2;
+	private static final byte END = 0, DICT = 1, QUESTION = 2, QUIZ = 3, QUIZ_QUESTION = 4, MEDIA = 5;
+	private static final int FETCH_SIZE = 1000;
+
+	@Autowired
+	JdbcTemplate jdbc;
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	@Autowired
+	ChangeEventBus eventBus;
+	@Autowired
+	LookupTables lookupTables;
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	@Value("${quiz.bank.dir:bank-snapshots}")
+	Path directory;
+	@Value("${quiz.bank.batch-size:1000}")
+	int batchSize;
+
+	public Path resolve(String fileName) {
+		if (!fileName.matches("[A-Za-z0-9._-]+") || fileName.startsWith(".")) {
+			throw new IllegalArgumentException("Invalid archive name: " + fileName);
+		}
+		return directory.resolve(fileName);
+	}
+
+	public Counts export(String fileName) throws IOException {
+		Path file = resolve(fileName);
+		Files.createDirectories(directory);
+		long[] counts = new long[4];
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		tx.setReadOnly(true);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			Map<String, Integer> dictionary = new HashMap<>();
+			JdbcTemplate streaming = new JdbcTemplate(jdbc.getDataSource());
+			streaming.setFetchSize(FETCH_SIZE);
+			tx.executeWithoutResult(status -> {
+				streaming.query("SELECT q.id, q.question_title, q.option1, q.option2, q.option3, q.option4, "
+						+ "q.right_answer, d.name, c.name FROM question q "
+						+ "LEFT JOIN difficulty_level d ON d.id = q.difficulty_id "
+						+ "LEFT JOIN category c ON c.id = q.category_id ORDER BY q.id", rs -> {
+							try {
+								int difficulty = dictionaryRef(out, dictionary, rs.getString(8));
+								int category = dictionaryRef(out, dictionary, rs.getString(9));
+								out.writeByte(QUESTION);
+								out.writeInt(rs.getInt(1));
+								for (int col = 2; col <= 7; col++) {
+									writeString(out, rs.getString(col));
+								}
+								out.writeInt(difficulty);
+								out.writeInt(category);
+								counts[0]++;
+							} catch (IOException e) {
+								throw new UncheckedIOException(e);
+							}
+						});
+				streaming.query("SELECT id, title FROM quiz ORDER BY id", rs -> {
+					try {
+						out.writeByte(QUIZ);
+						out.writeInt(rs.getInt(1));
+						writeString(out, rs.getString(2));
+						counts[1]++;
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				streaming.query("SELECT quiz_id, question_id FROM quiz_question ORDER BY quiz_id, position", rs -> {
+					try {
+						out.writeByte(QUIZ_QUESTION);
+						out.writeInt(rs.getInt(1));
+						out.writeInt(rs.getInt(2));
+						counts[2]++;
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				streaming.query("SELECT question_id, ref FROM question_media ORDER BY question_id, position", rs -> {
+					try {
+						out.writeByte(MEDIA);
+						out.writeInt(rs.getInt(1));
+						writeString(out, rs.getString(2));
+						counts[3]++;
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			});
+			out.writeByte(END);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return new Counts(counts[0], counts[1], counts[2], counts[3], Files.size(file));
+	}
+
+	/**
+	 * Replaces the whole bank with the archive contents, keeping the archived
+	 * ids. Quiz snapshots are dropped and re-frozen on first read.
+	 */
+	public Counts restore(String fileName) throws IOException {
+		Path file = resolve(fileName);
+		long[] counts = new long[4];
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Archive too large to map: " + channel.size() + " bytes");
+			}
+			MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			int magic = in.getInt();
+			int version = in.getInt();
+			if (magic != MAGIC || version < 1 || version > FORMAT_VERSION) {
+				throw new IOException("Not a question bank archive (or unsupported version): " + fileName);
+			}
+			new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+				jdbc.update("DELETE FROM quiz_snapshot");
+				jdbc.update("DELETE FROM question_media");
+				jdbc.update("DELETE FROM quiz_question");
+				jdbc.update("DELETE FROM quiz");
+				jdbc.update("DELETE FROM question");
+				Map<Integer, String> dictionary = new HashMap<>();
+				Batch questions = new Batch("INSERT INTO question (id, question_title, option1, option2, option3, "
+						+ "option4, right_answer, difficulty_id, category_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+				Batch quizzes = new Batch("INSERT INTO quiz (id, title) VALUES (?, ?)");
+				Batch links = new Batch("INSERT INTO quiz_question (quiz_id, question_id, position) VALUES (?, ?, ?)");
+				Batch media = new Batch("INSERT INTO question_media (question_id, position, ref) VALUES (?, ?, ?)");
+				int[] position = { -1, 0 }; // current quiz id, next position
+				int[] mediaPosition = { -1, 0 }; // current question id, next position
+				try {
+					for (byte tag = in.get(); tag != END; tag = in.get()) {
+						switch (tag) {
+						case DICT -> dictionary.put(in.getInt(), readString(in));
+						case QUESTION -> {
+							questions.add(new Object[] { in.getInt(), readString(in), readString(in), readString(in),
+									readString(in), readString(in), readString(in),
+									lookupTables.difficulties().getOrCreate(dictionary.get(in.getInt())),
+									lookupTables.categories().getOrCreate(dictionary.get(in.getInt())) });
+							counts[0]++;
+						}
+						case QUIZ -> {
+							questions.flush();
+							quizzes.add(new Object[] { in.getInt(), readString(in) });
+							counts[1]++;
+						}
+						case QUIZ_QUESTION -> {
+							quizzes.flush();
+							int quizId = in.getInt();
+							if (quizId != position[0]) {
+								position[0] = quizId;
+								position[1] = 0;
+							}
+							links.add(new Object[] { quizId, in.getInt(), position[1]++ });
+							counts[2]++;
+						}
+						case MEDIA -> {
+							links.flush();
+							int questionId = in.getInt();
+							if (questionId != mediaPosition[0]) {
+								mediaPosition[0] = questionId;
+								mediaPosition[1] = 0;
+							}
+							media.add(new Object[] { questionId, mediaPosition[1]++, readString(in) });
+							counts[3]++;
+						}
+						default -> throw new IllegalStateException("Corrupt archive: unknown record " + tag);
+						}
+					}
+				} catch (BufferUnderflowException e) {
+					throw new IllegalStateException("Corrupt archive: truncated", e);
+				}
+				questions.flush();
+				quizzes.flush();
+				links.flush();
+				media.flush();
+			});
+			// after the commit: on H2 ALTER TABLE would commit the restore halfway
+			restartIdentity("question");
+			restartIdentity("quiz");
+			// rows were replaced behind Hibernate's back
+			entityManagerFactory.getCache().evictAll();
+			eventBus.publish(Entity.QUESTION, Action.CLEARED, 0);
+			eventBus.publish(Entity.QUIZ, Action.CLEARED, 0);
+			return new Counts(counts[0], counts[1], counts[2], counts[3], channel.size());
+		}
+	}
+
+	// Restored rows keep their ids, so move the identity past them. Runs in its
+	// own statements after the restore has committed; restores are maintenance
+	// operations, so nothing else is expected to insert in between.
+	private void restartIdentity(String table) {
+		Integer max = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Integer.class);
+		String product = jdbc.execute((Connection c) -> productName(c.getMetaData()));
+		if (product.contains("postgres")) {
+			jdbc.queryForObject("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), ?, ?)", Long.class,
+					Math.max(max, 1), max > 0);
+		} else {
+			jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (max + 1));
+		}
+	}
+
+	private static String productName(DatabaseMetaData meta) throws SQLException {
+		return meta.getDatabaseProductName().toLowerCase();
+	}
+
+	private class Batch {
+		private final String sql;
+		private final List<Object[]> rows = new ArrayList<>();
+
+		Batch(String sql) {
+			this.sql = sql;
+		}
+
+		void add(Object[] row) {
+			rows.add(row);
+			if (rows.size() >= batchSize) {
+				flush();
+			}
+		}
+
+		void flush() {
+			if (!rows.isEmpty()) {
+				jdbc.batchUpdate(sql, rows);
+				rows.clear();
+			}
+		}
+	}
+
+	private static int dictionaryRef(DataOutputStream out, Map<String, Integer> dictionary, String value)
+			throws IOException {
+		if (value == null) {
+			return -1;
+		}
+		Integer ref = dictionary.get(value);
+		if (ref == null) {
+			ref = dictionary.size();
+			dictionary.put(value, ref);
+			out.writeByte(DICT);
+			out.writeInt(ref);
+			writeString(out, value);
+		}
+		return ref;
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(utf8.length);
+		out.write(utf8);
+	}
+
+	private static String readString(MappedByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] utf8 = new byte[length];
+		in.get(utf8);
+		return new String(utf8, StandardCharsets.UTF_8);
+	}
+}
@@ -1,19 +1,42 @@
 package com.example.demo.Service;
 
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.ToIntFunction;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.demo.Dao.LookupTables;
 import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuestionMediaDao;
+import com.example.demo.Model.BulkResult;
 import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionMedia;
+import com.example.demo.events.ChangeEvent.Action;
+import com.example.demo.events.ChangeEvent.Entity;
+import com.example.demo.events.ChangeEventBus;
 
 @Service
 public class QuestionService {
+
+	private static final int ID_CHUNK = 1000;
+
+	/**
+	 * Sets {@code category} and/or {@code difficultylevel} on the questions
+	 * listed in {@code ids}, or on every question of {@code fromCategory}.
+	 */
+	public record BulkUpdate(List<Integer> ids, String fromCategory, String category, String difficultylevel) {
+	}
+
 	@Autowired
 	com.example.demo.Dao.QuestionDao questionDao;
 
@@ -22,6 +45,16 @@ public class QuestionService {
 	}
 	@Autowired
 	QuestionDao repo;
+	@Autowired
+	ChangeEventBus eventBus;
+	@Autowired
+	QuestionMediaDao mediaDao;
+	@Autowired
+	MediaStore mediaStore;
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	@Autowired
+	LookupTables lookupTables;
 
 	public ResponseEntity< List<Question>> getAllQuestions() {
 		try {
@@ -38,9 +71,12 @@ public class QuestionService {
 	}
 
 	public ResponseEntity<String> addQuestion(Question question) {
-		
+		if (!fitsLookups(question.getCategory(), question.getDifficultylevel())) {
+			return new ResponseEntity<>("Category or difficulty too long", HttpStatus.BAD_REQUEST);
+		}
 		try {
 		 repo.save(question);
+		 eventBus.publish(Entity.QUESTION, Action.CREATED, question.getId());
 		 return new ResponseEntity<>("Question Added Successfully",HttpStatus.CREATED);
 		}
 		catch(Exception e) {
@@ -58,9 +94,18 @@ public class QuestionService {
 
 public ResponseEntity<String> deleteQuestion(int id) {
     try {
-        if (repo.existsById(id)) {
-            repo.deleteById(id);
+        int deleted = new TransactionTemplate(transactionManager).execute(status -> {
+            int n = repo.deleteUnusedByIdIn(List.of(id));
+            if (n > 0) {
+                mediaDao.deleteByQuestionId(id);
+            }
+            return n;
+        });
+        if (deleted > 0) {
+            eventBus.publish(Entity.QUESTION, Action.DELETED, id);
             return new ResponseEntity<>("Question deleted successfully", HttpStatus.OK);
+        } else if (repo.existsById(id)) {
+            return new ResponseEntity<>("Question is used by a quiz", HttpStatus.CONFLICT);
         } else {
             return new ResponseEntity<>("Question not found", HttpStatus.NOT_FOUND);
         }
@@ -71,11 +116,15 @@ public ResponseEntity<String> deleteQuestion(int id) {
 }
 
 public ResponseEntity<String> updateQuestion(int id, Question question) {
+    if (!fitsLookups(question.getCategory(), question.getDifficultylevel())) {
+        return new ResponseEntity<>("Category or difficulty too long", HttpStatus.BAD_REQUEST);
+    }
     try {
         if (repo.existsById(id)) {
             // Ensure the ID from the path is set on the object before saving
             question.setId(id);
             repo.save(question);
+            eventBus.publish(Entity.QUESTION, Action.UPDATED, id);
             return new ResponseEntity<>("Question updated successfully", HttpStatus.OK);
         } else {
             return new ResponseEntity<>("Question not found", HttpStatus.NOT_FOUND);
@@ -85,6 +134,128 @@ public ResponseEntity<String> updateQuestion(int id, Question question) {
         return new ResponseEntity<>("Error updating question", HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
-	
 
+	// Questions still used by a quiz are skipped; their media rows stay
+	public ResponseEntity<BulkResult> deleteQuestions(Collection<Integer> ids) {
+		if (ids == null || ids.isEmpty()) {
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		}
+		try {
+			Collection<Integer> distinct = new LinkedHashSet<>(ids);
+			int deleted = new TransactionTemplate(transactionManager).execute(status -> {
+				int n = inChunks(distinct, repo::deleteUnusedByIdIn);
+				if (n > 0) {
+					mediaDao.deleteOrphans();
+				}
+				return n;
+			});
+			return bulkDone(deleted, distinct.size() - deleted);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	public ResponseEntity<BulkResult> deleteByCategory(String category) {
+		try {
+			int deleted = new TransactionTemplate(transactionManager).execute(status -> {
+				int n = repo.deleteUnusedByCategory(category);
+				if (n > 0) {
+					mediaDao.deleteOrphans();
+				}
+				return n;
+			});
+			// whatever is left in the category is used by a quiz
+			return bulkDone(deleted, repo.countByCategoryName(category));
+		} catch (Exception e) {
+			e.printStackTrace();
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	public ResponseEntity<BulkResult> bulkUpdate(BulkUpdate update) {
+		boolean byIds = update.ids() != null && !update.ids().isEmpty();
+		if (byIds == (update.fromCategory() != null) || (update.category() == null && update.difficultylevel() == null)
+				|| !fitsLookups(update.category(), update.difficultylevel())) {
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		}
+		try {
+			// only the new values may create lookup rows; an unknown fromCategory matches nothing
+			lookupTables.categories().getOrCreate(update.category());
+			lookupTables.difficulties().getOrCreate(update.difficultylevel());
+			Collection<Integer> ids = byIds ? new LinkedHashSet<>(update.ids()) : List.of();
+			int updated = new TransactionTemplate(transactionManager).execute(status -> {
+				int n = 0;
+				// difficulty first: a category rename would move the rows out of fromCategory.
+				// Both statements match the same rows, so the larger count is the number of questions changed
+				if (update.difficultylevel() != null) {
+					n = byIds ? inChunks(ids, chunk -> repo.updateDifficultyByIdIn(chunk, update.difficultylevel()))
+							: repo.updateDifficultyByCategory(update.fromCategory(), update.difficultylevel());
+				}
+				if (update.category() != null) {
+					n = Math.max(n, byIds ? inChunks(ids, chunk -> repo.updateCategoryByIdIn(chunk, update.category()))
+							: repo.updateCategoryByCategory(update.fromCategory(), update.category()));
+				}
+				return n;
+			});
+			return bulkDone(updated, byIds ? ids.size() - updated : 0);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	// Postgres binds at most 32767 parameters per statement
+	private static int inChunks(Collection<Integer> ids, ToIntFunction<List<Integer>> statement) {
+		List<Integer> list = List.copyOf(ids);
+		int n = 0;
+		for (int from = 0; from < list.size(); from += ID_CHUNK) {
+			n += statement.applyAsInt(list.subList(from, Math.min(list.size(), from + ID_CHUNK)));
+		}
+		return n;
+	}
+
+	private static boolean fitsLookups(String category, String difficultylevel) {
+		return LookupTables.fits(category) && LookupTables.fits(difficultylevel);
+	}
+
+	private ResponseEntity<BulkResult> bulkDone(int affected, int skipped) {
+		if (affected > 0) {
+			eventBus.publish(Entity.QUESTION, Action.BULK, 0);
+		}
+		return new ResponseEntity<>(new BulkResult(affected, skipped), HttpStatus.OK);
+	}
+
+	// Attached media stay on disk when detached; other questions may share the same file
+	public ResponseEntity<String> addMedia(int id, InputStream content, String contentType) {
+		try {
+			if (!repo.existsById(id)) {
+				return new ResponseEntity<>("Question not found", HttpStatus.NOT_FOUND);
+			}
+			String ref = mediaStore.store(content, contentType);
+			if (ref == null) {
+				return new ResponseEntity<>("Unsupported media type: " + contentType, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+			}
+			QuestionMedia media = new QuestionMedia();
+			media.setQuestionId(id);
+			media.setPosition(mediaDao.nextPosition(id));
+			media.setRef(ref);
+			mediaDao.save(media);
+			eventBus.publish(Entity.QUESTION, Action.UPDATED, id);
+			return new ResponseEntity<>(ref, HttpStatus.CREATED);
+		} catch (MediaStore.TooLargeException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.PAYLOAD_TOO_LARGE);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return new ResponseEntity<>("Error storing media", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	public ResponseEntity<String> removeMedia(int id, String ref) {
+		if (mediaDao.deleteByQuestionIdAndRef(id, ref) == 0) {
+			return new ResponseEntity<>("Media not found", HttpStatus.NOT_FOUND);
+		}
+		eventBus.publish(Entity.QUESTION, Action.UPDATED, id);
+		return new ResponseEntity<>("Media removed", HttpStatus.OK);
+	}
 }
@@ -1,34 +1,103 @@
 package com.example.demo.Service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuestionMediaDao;
 import com.example.demo.Dao.QuizDao;
+import com.example.demo.Dao.QuizSnapshotDao;
+import com.example.demo.Model.BulkResult;
 import com.example.demo.Model.Question;
 import com.example.demo.Model.QuestionWrapper;
 import com.example.demo.Model.Quiz;
+import com.example.demo.Model.QuizResult;
+import com.example.demo.Model.QuizSnapshot;
 import com.example.demo.Model.Response;
+import com.example.demo.events.ChangeEvent.Action;
+import com.example.demo.events.ChangeEvent.Entity;
+import com.example.demo.events.ChangeEventBus;
+import com.example.demo.jfr.QuizCreateEvent;
+import com.example.demo.jfr.QuizQuestionsEvent;
+import com.example.demo.jfr.QuizScoreEvent;
+
+import jakarta.annotation.PostConstruct;
 @Service
 public class QuizService {
+
+	private static final int ID_CHUNK = 1000;
 	
 	@Autowired
 	QuizDao quizDao;
 	@Autowired 
 	QuestionDao repo;
+	@Autowired
+	QuizSnapshotDao snapshotDao;
+	@Autowired
+	ChangeEventBus eventBus;
+	@Autowired
+	QuizShuffler shuffler;
+	@Autowired
+	QuestionMediaDao mediaDao;
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	@Value("${quiz.idempotency.max-entries:100000}")
+	int idempotencyMaxEntries;
+	@Value("${quiz.idempotency.ttl-ms:3600000}")
+	long idempotencyTtlMs;
+	@Value("${quiz.answer-keys.max-entries:10000}")
+	int answerKeysMaxEntries;
+
+	private IdempotencyCache<ResponseEntity<QuizResult>> submissions;
+	// Snapshots never change, so a compiled key stays valid until its quiz is deleted
+	private final Map<Integer, QuizSnapshotCodec.AnswerKey> answerKeys = new ConcurrentHashMap<>();
+	// Bumped before every invalidation; a key compiled across a bump is served but not cached
+	private final AtomicLong answerKeyGeneration = new AtomicLong();
 
+	@PostConstruct
+	void init() {
+		// only scored submissions are replayed; a 404 or 400 is recomputed on retry
+		submissions = new IdempotencyCache<>(idempotencyMaxEntries, idempotencyTtlMs,
+				result -> result.getStatusCode().is2xxSuccessful());
+		eventBus.addListener(event -> {
+			if (event.entity() == Entity.QUIZ && event.action() != Action.CREATED) {
+				answerKeyGeneration.incrementAndGet();
+				if (event.action() == Action.DELETED) {
+					answerKeys.remove(event.id());
+				} else {
+					answerKeys.clear();
+				}
+			}
+		});
+	}
 
 	public ResponseEntity<String> createQuize(String category, int numQ, String title) {
+	    QuizCreateEvent event = new QuizCreateEvent();
+	    event.begin();
+	    event.category = category;
+	    event.requested = numQ;
 	    try {
 	        List<Question> questions = repo.findRandomQuestionsByCategory(category, numQ);
 
 	        if (questions == null || questions.isEmpty()) {
+	            event.outcome = "no-questions";
 	            return new ResponseEntity<>("❌ No questions found for category: " + category, HttpStatus.BAD_REQUEST);
 	        }
 
@@ -36,46 +105,146 @@ public class QuizService {
 	        quiz.setTitle(title);
 	        quiz.setQuestions(questions);
 
-	        quizDao.save(quiz);
+	        // a quiz is never visible without its snapshot
+	        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+	            quizDao.save(quiz);
+	            snapshotDao.save(QuizSnapshotCodec.freeze(quiz.getId(), questions, mediaOf(questions)));
+	        });
+	        eventBus.publish(Entity.QUIZ, Action.CREATED, quiz.getId());
+	        event.quizId = quiz.getId();
+	        event.questionCount = questions.size();
+	        event.outcome = "created";
 
 	        return new ResponseEntity<>("✅ Quiz created successfully", HttpStatus.CREATED);
 	    } catch (Exception e) {
+	        event.outcome = "error";
 	        e.printStackTrace();  // 📌 This prints actual error in terminal
 	        return new ResponseEntity<>("❌ Server error: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+	    } finally {
+	        event.commit();
 	    }
 	}
-	public ResponseEntity<Integer> calculateResult(int id, List<Response> responses) {
-		Quiz quiz = quizDao.findById(id).get();		
-	    List<Question> questions = quiz.getQuestions();
-	    int right = 0;
-	    int i =0;
-		for(Response response: responses) {
-			if(response.getResponse().equals(questions.get(i).getRight_answer()))
-				right++;
-			 i++;
-		
-		}
-		return new ResponseEntity<>(right, HttpStatus.OK);
+	/**
+	 * Scores a submission once per {@code idempotencyKey}: retries and
+	 * concurrent duplicates from the same user get the first result.
+	 */
+	public ResponseEntity<QuizResult> submit(int id, List<Response> responses, String username, String idempotencyKey) {
+		if (idempotencyKey == null) {
+			return calculateResult(id, responses);
+		}
+		if (idempotencyKey.isBlank() || idempotencyKey.length() > 255) {
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		}
+		try {
+			return submissions.get(username + '\n' + id + '\n' + idempotencyKey, Response.digest(responses),
+					() -> CompletableFuture.completedFuture(calculateResult(id, responses))).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof IdempotencyCache.KeyReuseException) {
+				return new ResponseEntity<>(HttpStatus.UNPROCESSABLE_ENTITY);
+			}
+			throw e.getCause() instanceof RuntimeException cause ? cause : e;
+		}
 	}
 
+	/** 400 if a response names a question outside the quiz or names one twice. */
+	public ResponseEntity<QuizResult> calculateResult(int id, List<Response> responses) {
+		QuizScoreEvent event = new QuizScoreEvent();
+		event.begin();
+		event.quizId = id;
+		event.responses = responses.size();
+		event.outcome = "error";
+		try {
+			QuizSnapshotCodec.AnswerKey answerKey = answerKey(id);
+			if (answerKey == null) {
+				event.outcome = "not-found";
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			event.questionCount = answerKey.size();
+			QuizResult result = answerKey.score(responses);
+			if (result == null) {
+				event.outcome = "rejected";
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+			}
+			event.score = result.score();
+			event.outcome = "scored";
+			return new ResponseEntity<>(result, HttpStatus.OK);
+		} finally {
+			event.commit();
+		}
+	}
 
-	public ResponseEntity<List<QuestionWrapper>> getQuizQuestions(int id) {
-		// TODO Auto-generated method stub
-		Optional<Quiz> quiz = quizDao.findById(id);
-		List<Question> questionFromDb = quiz.get().getQuestions();
-		List<QuestionWrapper> questionForUser = new ArrayList<>();
-		for(Question q: questionFromDb) {
-			QuestionWrapper qw = new QuestionWrapper(q.getId(),q.getQuestion_title(),q.getOption1(),q.getOption2(),q.getOption3(),q.getOption4());
-			questionForUser.add(qw);
+	private QuizSnapshotCodec.AnswerKey answerKey(int id) {
+		QuizSnapshotCodec.AnswerKey key = answerKeys.get(id);
+		if (key != null) {
+			return key;
+		}
+		long generation = answerKeyGeneration.get();
+		QuizSnapshot snapshot = findSnapshot(id);
+		if (snapshot == null) {
+			return null;
 		}
-		return new ResponseEntity<>(questionForUser, HttpStatus.OK);
+		QuizSnapshotCodec.AnswerKey compiled = QuizSnapshotCodec.readAnswerKey(snapshot);
+		if (answerKeys.size() >= answerKeysMaxEntries) {
+			// rough bound: drop an arbitrary entry rather than track recency on the hot path
+			answerKeys.keySet().stream().findAny().ifPresent(answerKeys::remove);
+		}
+		// checked under the entry's lock, which the invalidating remove or clear also takes after its bump
+		answerKeys.computeIfAbsent(id, k -> answerKeyGeneration.get() == generation ? compiled : null);
+		return compiled;
+	}
+
+
+	public ResponseEntity<List<QuestionWrapper>> getQuizQuestions(int id, String username) {
+		QuizQuestionsEvent event = new QuizQuestionsEvent();
+		event.begin();
+		event.quizId = id;
+		event.outcome = "error";
+		try {
+			QuizSnapshot snapshot = findSnapshot(id);
+			if (snapshot == null) {
+				event.outcome = "not-found";
+				return new ResponseEntity<>(new ArrayList<>(), HttpStatus.NOT_FOUND);
+			}
+			List<QuestionWrapper> questions = shuffler.shuffle(QuizSnapshotCodec.readQuestions(snapshot), username, id);
+			event.questionCount = questions.size();
+			event.outcome = "ok";
+			return new ResponseEntity<>(questions, HttpStatus.OK);
+		} finally {
+			event.commit();
+		}
+	}
+
+	// Quizzes created before snapshots existed, or restored from an archive, are
+	// frozen on their first read. Concurrent first reads race to insert the same
+	// row; the losers read the winner's snapshot, which holds the same questions.
+	private QuizSnapshot findSnapshot(int id) {
+		Optional<QuizSnapshot> snapshot = snapshotDao.findById(id);
+		if (snapshot.isPresent()) {
+			return snapshot.get();
+		}
+		TransactionTemplate read = new TransactionTemplate(transactionManager);
+		read.setReadOnly(true);
+		QuizSnapshot frozen = read.execute(status -> quizDao.findById(id)
+				.map(quiz -> QuizSnapshotCodec.freeze(id, quiz.getQuestions(), mediaOf(quiz.getQuestions())))
+				.orElse(null));
+		if (frozen == null) {
+			return null;
+		}
+		try {
+			return snapshotDao.save(frozen);
+		} catch (DataIntegrityViolationException e) {
+			return snapshotDao.findById(id).orElse(null);
+		}
+	}
+
+	private Map<Integer, List<String>> mediaOf(List<Question> questions) {
+		return mediaDao.refsByQuestion(questions.stream().map(Question::getId).toList());
 	}
 
 	public ResponseEntity<String> deleteQuiz(int id) {
 		try {
-			Optional<Quiz> quiz = quizDao.findById(id);
-			if (quiz.isPresent()) {
-				quizDao.deleteById(id);
+			if (deleteQuizRows(List.of(id)) > 0) {
+				eventBus.publish(Entity.QUIZ, Action.DELETED, id);
 				return new ResponseEntity<>("✅ Quiz deleted successfully", HttpStatus.OK);
 			} else {
 				return new ResponseEntity<>("❌ Quiz not found with id: " + id, HttpStatus.NOT_FOUND);
@@ -86,11 +255,48 @@ public class QuizService {
 		}
 	}
 
+	public ResponseEntity<BulkResult> deleteQuizzes(Collection<Integer> ids) {
+		if (ids == null || ids.isEmpty()) {
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		}
+		try {
+			Collection<Integer> distinct = new LinkedHashSet<>(ids);
+			int deleted = deleteQuizRows(distinct);
+			if (deleted > 0) {
+				eventBus.publish(Entity.QUIZ, Action.BULK, 0);
+			}
+			return new ResponseEntity<>(new BulkResult(deleted, distinct.size() - deleted), HttpStatus.OK);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	// Join rows, quizzes and snapshots in three statements per ID_CHUNK quizzes; Postgres binds at most 32767 parameters
+	private int deleteQuizRows(Collection<Integer> ids) {
+		List<Integer> list = List.copyOf(ids);
+		return new TransactionTemplate(transactionManager).execute(status -> {
+			int deleted = 0;
+			for (int from = 0; from < list.size(); from += ID_CHUNK) {
+				List<Integer> chunk = list.subList(from, Math.min(list.size(), from + ID_CHUNK));
+				quizDao.deleteQuestionLinksByQuizIdIn(chunk);
+				deleted += quizDao.deleteByIdIn(chunk);
+				snapshotDao.deleteByQuizIdIn(chunk);
+			}
+			return deleted;
+		});
+	}
+
 	public ResponseEntity<String> deleteAllQuizzes() {
 		try {
-			long count = quizDao.count();
+			int count = new TransactionTemplate(transactionManager).execute(status -> {
+				quizDao.deleteAllQuestionLinks();
+				int deleted = quizDao.deleteAllQuizzes();
+				snapshotDao.deleteAllInBatch();
+				return deleted;
+			});
 			if (count > 0) {
-				quizDao.deleteAll();
+				eventBus.publish(Entity.QUIZ, Action.CLEARED, 0);
 				return new ResponseEntity<>("✅ All " + count + " quizzes deleted successfully", HttpStatus.OK);
 			} else {
 				return new ResponseEntity<>("ℹ️ No quizzes found to delete", HttpStatus.OK);
@@ -0,0 +1,111 @@
+package com.example.demo.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Model.QuestionWrapper;
+
+/**
+ * Per-candidate question and option order without storing anything. The order
+ * is drawn from a PRNG seeded with HMAC-SHA256(secret, username + quiz id), so
+ * every fetch of the same quiz by the same user renders the same permutation,
+ * while users cannot predict each other's order. Scoring matches answers by
+ * question id and option text, so it never needs the permutation.
+ *
+ * The key is {@code quiz.shuffle.secret} when set, otherwise
+ * HMAC-SHA256(jwt.secret, "quiz-shuffle"); the JWT signing key itself is
+ * never used, and a shuffle secret equal to it is rejected at startup.
+ */
+@Component
+public class QuizShuffler {
+
+	private final boolean enabled;
+	private final ThreadLocal<Mac> macs;
+
+	public QuizShuffler(@Value("${quiz.shuffle.enabled:true}") boolean enabled,
+			@Value("${quiz.shuffle.secret:}") String secret, @Value("${jwt.secret}") String jwtSecret) {
+		this.enabled = enabled;
+		if (secret.equals(jwtSecret)) {
+			throw new IllegalArgumentException("quiz.shuffle.secret must differ from jwt.secret");
+		}
+		SecretKeySpec key = new SecretKeySpec(secret.isEmpty() ? derive(jwtSecret, "quiz-shuffle")
+				: secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+		this.macs = ThreadLocal.withInitial(() -> {
+			try {
+				Mac mac = Mac.getInstance("HmacSHA256");
+				mac.init(key);
+				return mac;
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	/** Questions in the order this user sees them, each with its options shuffled. */
+	public List<QuestionWrapper> shuffle(List<QuestionWrapper> questions, String username, int quizId) {
+		if (!enabled || username == null) {
+			return questions;
+		}
+		SplittableRandom random = random(username, quizId);
+		int[] order = permutation(questions.size(), random);
+		QuestionWrapper[] shuffled = new QuestionWrapper[order.length];
+		String[] options = new String[4];
+		for (int i = 0; i < order.length; i++) {
+			QuestionWrapper q = questions.get(order[i]);
+			options[0] = q.getOption1();
+			options[1] = q.getOption2();
+			options[2] = q.getOption3();
+			options[3] = q.getOption4();
+			int[] optionOrder = permutation(4, random);
+			shuffled[i] = new QuestionWrapper(q.getId(), q.getQuestion_title(), options[optionOrder[0]],
+					options[optionOrder[1]], options[optionOrder[2]], options[optionOrder[3]], q.getMedia());
+		}
+		return List.of(shuffled);
+	}
+
+	private SplittableRandom random(String username, int quizId) {
+		Mac mac = macs.get();
+		mac.update(username.getBytes(StandardCharsets.UTF_8));
+		mac.update((byte) 0);
+		mac.update(new byte[] { (byte) (quizId >>> 24), (byte) (quizId >>> 16), (byte) (quizId >>> 8), (byte) quizId });
+		byte[] digest = mac.doFinal();
+		long seed = 0;
+		for (int i = 0; i < 8; i++) {
+			seed = (seed << 8) | (digest[i] & 0xFF);
+		}
+		return new SplittableRandom(seed);
+	}
+
+	private static byte[] derive(String secret, String purpose) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// Fisher-Yates over 0..size-1
+	private static int[] permutation(int size, SplittableRandom random) {
+		int[] order = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		for (int i = size - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tmp = order[i];
+			order[i] = order[j];
+			order[j] = tmp;
+		}
+		return order;
+	}
+}
@@ -0,0 +1,213 @@
+package com.example.demo.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionWrapper;
+import com.example.demo.Model.QuizResult;
+import com.example.demo.Model.QuizSnapshot;
+import com.example.demo.Model.Response;
+
+/**
+ * Binary layout of a {@link QuizSnapshot}. Both blobs start with the format
+ * version and the question count, followed by one length-prefixed record per
+ * question in quiz order. The user-facing blob never contains answers.
+ * Version 2 appends the question's media refs; version 1 blobs still read,
+ * without media.
+ */
+public final class QuizSnapshotCodec {
+
+	public static final int FORMAT_VERSION = 2;
+
+	/**
+	 * A quiz's answers indexed by question id, built once per snapshot and
+	 * then shared by any number of submissions. Shared by the servlet and
+	 * reactive candidate APIs so they always score alike.
+	 */
+	public static final class AnswerKey {
+		private static final byte UNANSWERED = 0, WRONG = 1, RIGHT = 2;
+
+		private final int[] questionIds;
+		private final String[] answers;
+		private final IntIntHashMap positions;
+
+		public AnswerKey(int[] questionIds, String[] answers) {
+			this.questionIds = questionIds;
+			this.answers = answers;
+			this.positions = new IntIntHashMap(questionIds.length);
+			for (int i = 0; i < questionIds.length; i++) {
+				positions.put(questionIds[i], i);
+			}
+		}
+
+		public int size() {
+			return questionIds.length;
+		}
+
+		/**
+		 * Matches each response to its question by id, so responses may come in
+		 * any order and may leave questions out. Answers are compared by option
+		 * text, so the candidate's question and option order never matter.
+		 *
+		 * @return null if a response is null, names a question that is not in
+		 *         this quiz, or names one twice
+		 */
+		public QuizResult score(List<Response> responses) {
+			int n = questionIds.length;
+			if (responses.size() > n) {
+				return null;
+			}
+			byte[] marks = new byte[n];
+			int right = 0;
+			for (int i = 0; i < responses.size(); i++) {
+				Response response = responses.get(i);
+				int at = response == null ? -1 : positions.get(response.getId());
+				if (at < 0 || marks[at] != UNANSWERED) {
+					return null;
+				}
+				String answer = response.getResponse();
+				if (answer != null && answer.equals(answers[at])) {
+					marks[at] = RIGHT;
+					right++;
+				} else {
+					marks[at] = WRONG;
+				}
+			}
+			QuizResult.QuestionResult[] questions = new QuizResult.QuestionResult[n];
+			for (int i = 0; i < n; i++) {
+				questions[i] = new QuizResult.QuestionResult(questionIds[i], marks[i] != UNANSWERED, marks[i] == RIGHT);
+			}
+			return new QuizResult(right, responses.size(), n, List.of(questions));
+		}
+	}
+
+	private QuizSnapshotCodec() {
+	}
+
+	/** @param media refs per question id; questions without media may be absent */
+	public static QuizSnapshot freeze(int quizId, List<Question> questions, Map<Integer, List<String>> media) {
+		QuizSnapshot snapshot = new QuizSnapshot();
+		snapshot.setQuizId(quizId);
+		snapshot.setVersion(FORMAT_VERSION);
+		snapshot.setQuestionCount(questions.size());
+		snapshot.setQuestions(encodeQuestions(questions, media));
+		snapshot.setAnswerKey(encodeAnswerKey(questions));
+		return snapshot;
+	}
+
+	public static List<QuestionWrapper> readQuestions(QuizSnapshot snapshot) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot.getQuestions()))) {
+			int version = readVersion(in);
+			int count = in.readInt();
+			List<QuestionWrapper> questions = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				QuestionWrapper q = new QuestionWrapper(in.readInt(), readString(in), readString(in), readString(in),
+						readString(in), readString(in));
+				if (version >= 2) {
+					String[] refs = new String[in.readInt()];
+					for (int r = 0; r < refs.length; r++) {
+						refs[r] = readString(in);
+					}
+					q.setMedia(List.of(refs));
+				}
+				questions.add(q);
+			}
+			return questions;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Corrupt quiz snapshot " + snapshot.getQuizId(), e);
+		}
+	}
+
+	public static AnswerKey readAnswerKey(QuizSnapshot snapshot) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot.getAnswerKey()))) {
+			readVersion(in);
+			int count = in.readInt();
+			int[] ids = new int[count];
+			String[] answers = new String[count];
+			for (int i = 0; i < count; i++) {
+				ids[i] = in.readInt();
+				answers[i] = readString(in);
+			}
+			return new AnswerKey(ids, answers);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Corrupt quiz snapshot " + snapshot.getQuizId(), e);
+		}
+	}
+
+	private static byte[] encodeQuestions(List<Question> questions, Map<Integer, List<String>> media) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * questions.size() + 8);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(FORMAT_VERSION);
+			out.writeInt(questions.size());
+			for (Question q : questions) {
+				out.writeInt(q.getId());
+				writeString(out, q.getQuestion_title());
+				writeString(out, q.getOption1());
+				writeString(out, q.getOption2());
+				writeString(out, q.getOption3());
+				writeString(out, q.getOption4());
+				List<String> refs = media.getOrDefault(q.getId(), List.of());
+				out.writeInt(refs.size());
+				for (String ref : refs) {
+					writeString(out, ref);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static byte[] encodeAnswerKey(List<Question> questions) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 * questions.size() + 8);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(FORMAT_VERSION);
+			out.writeInt(questions.size());
+			for (Question q : questions) {
+				out.writeInt(q.getId());
+				writeString(out, q.getRight_answer());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static int readVersion(DataInputStream in) throws IOException {
+		int version = in.readUnsignedByte();
+		if (version < 1 || version > FORMAT_VERSION) {
+			throw new IOException("Unsupported snapshot format version " + version);
+		}
+		return version;
+	}
+
+	// Strings are written as a byte length followed by UTF-8 bytes; -1 marks null.
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(utf8.length);
+		out.write(utf8);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] utf8 = new byte[length];
+		in.readFully(utf8);
+		return new String(utf8, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.demo.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bounded concurrency for one class of traffic: at most {@code maxConcurrent}
+ * requests run, at most {@code maxQueued} wait, and none waits longer than the
+ * timeout. Everything beyond that is rejected immediately, so a burst in one
+ * bulkhead cannot occupy the server threads and connections of another.
+ */
+public class Bulkhead {
+
+    public enum Rejection { QUEUE_FULL, TIMEOUT }
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long timeoutNanos;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter queueFull;
+    private final Counter timedOut;
+    private final Timer waitTime;
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, long timeoutMs, MeterRegistry registry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.permits = new Semaphore(maxConcurrent, true);
+        Gauge.builder("quiz.bulkhead.active", this, Bulkhead::active).tag("bulkhead", name).register(registry);
+        Gauge.builder("quiz.bulkhead.queued", queued, AtomicInteger::get).tag("bulkhead", name).register(registry);
+        Gauge.builder("quiz.bulkhead.saturation", this, b -> (double) b.active() / b.maxConcurrent)
+                .tag("bulkhead", name).register(registry);
+        this.queueFull = Counter.builder("quiz.bulkhead.rejected").tag("bulkhead", name).tag("reason", "queue_full")
+                .register(registry);
+        this.timedOut = Counter.builder("quiz.bulkhead.rejected").tag("bulkhead", name).tag("reason", "timeout")
+                .register(registry);
+        this.waitTime = Timer.builder("quiz.bulkhead.wait").tag("bulkhead", name).register(registry);
+    }
+
+    /** @return null once a permit is held (release it), otherwise why it was refused */
+    public Rejection acquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return null;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            queueFull.increment();
+            return Rejection.QUEUE_FULL;
+        }
+        long start = System.nanoTime();
+        try {
+            if (permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                return null;
+            }
+            timedOut.increment();
+            return Rejection.TIMEOUT;
+        } finally {
+            queued.decrementAndGet();
+            waitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Requests this bulkhead can hold at once, each on a server thread: running plus waiting. */
+    public int capacity() {
+        return maxConcurrent + maxQueued;
+    }
+
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.demo.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Isolates admin bulk work from candidate traffic: each side gets its own
+ * request bulkhead and its own Hikari pool behind one routing DataSource.
+ * Work outside a request (change listeners, denylist refresh, practice
+ * flushes, lookup inserts) gets a third pool, so it never waits on a request
+ * pool that its own caller may be holding.
+ *
+ * Waiting requests still occupy a server thread, so both bulkheads together
+ * must hold fewer requests than {@code server.tomcat.threads.max}; startup
+ * fails otherwise. All pools share {@code spring.datasource.hikari.*}, with
+ * the partition's name, size and connection timeout applied on top.
+ * Pool metrics are published as
+ * {@code hikaricp.*{pool=quiz-admin|quiz-user|quiz-background}}, bulkhead
+ * metrics as {@code quiz.bulkhead.*{bulkhead=admin|user}}.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkhead adminBulkhead(MeterRegistry registry,
+            @Value("${quiz.bulkhead.admin.max-concurrent:4}") int maxConcurrent,
+            @Value("${quiz.bulkhead.admin.max-queued:16}") int maxQueued,
+            @Value("${quiz.bulkhead.admin.timeout-ms:2000}") long timeoutMs) {
+        return new Bulkhead("admin", maxConcurrent, maxQueued, timeoutMs, registry);
+    }
+
+    @Bean
+    public Bulkhead userBulkhead(MeterRegistry registry,
+            @Value("${quiz.bulkhead.user.max-concurrent:150}") int maxConcurrent,
+            @Value("${quiz.bulkhead.user.max-queued:20}") int maxQueued,
+            @Value("${quiz.bulkhead.user.timeout-ms:1000}") long timeoutMs) {
+        return new Bulkhead("user", maxConcurrent, maxQueued, timeoutMs, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(Bulkhead adminBulkhead, Bulkhead userBulkhead,
+            @Value("${server.tomcat.threads.max:200}") int serverThreads) {
+        if (adminBulkhead.capacity() + userBulkhead.capacity() >= serverThreads) {
+            throw new IllegalStateException("Bulkheads hold " + adminBulkhead.capacity() + " admin and "
+                    + userBulkhead.capacity() + " user requests, which leaves none of the " + serverThreads
+                    + " server threads for anything else; lower quiz.bulkhead.*.max-concurrent/max-queued");
+        }
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(adminBulkhead, userBulkhead));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, MeterRegistry registry, Environment environment,
+            @Value("${quiz.datasource.admin.pool-size:3}") int adminPoolSize,
+            @Value("${quiz.datasource.admin.connection-timeout-ms:5000}") long adminTimeoutMs,
+            @Value("${quiz.datasource.user.pool-size:12}") int userPoolSize,
+            @Value("${quiz.datasource.user.connection-timeout-ms:1000}") long userTimeoutMs,
+            @Value("${quiz.datasource.background.pool-size:4}") int backgroundPoolSize,
+            @Value("${quiz.datasource.background.connection-timeout-ms:5000}") long backgroundTimeoutMs) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource admin = pool(properties, binder, registry, "quiz-admin", adminPoolSize, adminTimeoutMs);
+        HikariDataSource user = pool(properties, binder, registry, "quiz-user", userPoolSize, userTimeoutMs);
+        HikariDataSource background = pool(properties, binder, registry, "quiz-background", backgroundPoolSize,
+                backgroundTimeoutMs);
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return DataSourcePartition.current();
+            }
+        };
+        routing.setTargetDataSources(Map.of(DataSourcePartition.ADMIN, admin, DataSourcePartition.USER, user,
+                DataSourcePartition.BACKGROUND, background));
+        routing.setDefaultTargetDataSource(background);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, MeterRegistry registry,
+            String name, int size, long connectionTimeoutMs) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(size);
+        pool.setConnectionTimeout(connectionTimeoutMs);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return pool;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits each request into the admin or user bulkhead and routes its
+ * database work to the matching connection pool. Runs before Spring Security
+ * so the JWT user lookup already uses the right pool. Requests outside
+ * {@code /admin}, {@code /user} and {@code /auth} are not limited.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Bulkhead admin;
+    private final Bulkhead user;
+
+    public BulkheadFilter(Bulkhead admin, Bulkhead user) {
+        this.admin = admin;
+        this.user = user;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        String path = req.getRequestURI().substring(req.getContextPath().length());
+        DataSourcePartition partition;
+        if (path.startsWith("/admin/") || path.startsWith("/auth/admin/")) {
+            partition = DataSourcePartition.ADMIN;
+        } else if (path.startsWith("/user/") || path.startsWith("/auth/")) {
+            partition = DataSourcePartition.USER;
+        } else {
+            chain.doFilter(req, res);
+            return;
+        }
+        Bulkhead bulkhead = partition == DataSourcePartition.ADMIN ? admin : user;
+        Bulkhead.Rejection rejection;
+        try {
+            rejection = bulkhead.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejection = Bulkhead.Rejection.TIMEOUT;
+        }
+        if (rejection != null) {
+            res.setHeader("Retry-After", "1");
+            res.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    bulkhead.getName() + " bulkhead saturated (" + rejection.name().toLowerCase() + ")");
+            return;
+        }
+        DataSourcePartition.set(partition);
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            DataSourcePartition.clear();
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+/**
+ * Which connection pool the current thread borrows from. Set per request by
+ * {@link BulkheadFilter}; threads outside a request (listeners, schedulers,
+ * flushes) use {@link #BACKGROUND}, so background work takes neither
+ * candidate nor admin request connections.
+ */
+public enum DataSourcePartition {
+    ADMIN, USER, BACKGROUND;
+
+    private static final ThreadLocal<DataSourcePartition> CURRENT = new ThreadLocal<>();
+
+    public static DataSourcePartition current() {
+        DataSourcePartition partition = CURRENT.get();
+        return partition == null ? BACKGROUND : partition;
+    }
+
+    static void set(DataSourcePartition partition) {
+        CURRENT.set(partition);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Borrows a connection from this partition's pool whatever the current
+     * thread's partition is. For code that opens a second connection while
+     * its request already holds one: taking both from the same pool can
+     * deadlock once every request holds its first.
+     */
+    public Connection getConnection(DataSource dataSource) throws SQLException {
+        DataSourcePartition previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return dataSource.getConnection();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
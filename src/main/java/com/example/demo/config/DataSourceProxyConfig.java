@@ -0,0 +1,44 @@
+package com.example.demo.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Wraps the application DataSource with datasource-proxy. This replaces
+ * {@code spring.jpa.show-sql}: only statements slower than
+ * {@code quiz.sql.slow-query-ms} are logged, and bind parameters are attached
+ * to a sampled fraction of those. With {@code quiz.sql.count-queries=true}
+ * per-thread statement counts are kept for the query-count test suite.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(
+            @Value("${quiz.sql.slow-query-ms:200}") long slowQueryMs,
+            @Value("${quiz.sql.bind-sample-rate:0.1}") double bindSampleRate,
+            @Value("${quiz.sql.count-queries:false}") boolean countQueries) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SlowQueryLogListener(slowQueryMs, bindSampleRate));
+                if (countQueries) {
+                    builder.countQuery();
+                }
+                return builder.build();
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Brings databases created before the lookup tables up to the current
+ * schema. Hibernate's ddl-auto=update adds new tables and columns but never
+ * moves data or drops columns, so after it has run this:
+ * <ol>
+ * <li>copies distinct free-text {@code question.category} /
+ * {@code difficultylevel} values into the lookup tables, points
+ * {@code category_id} / {@code difficulty_id} at them and drops the old
+ * columns;</li>
+ * <li>adds the foreign keys to the lookup tables if missing;</li>
+ * <li>numbers {@code quiz_question.position} for rows written before the
+ * column existed. On PostgreSQL rows are numbered in physical ({@code ctid})
+ * order within each quiz, which is the order the unordered list was read in
+ * before; elsewhere, and as a tiebreaker, by {@code question_id}.</li>
+ * </ol>
+ * Every step checks the catalog first, so running it again is a no-op.
+ */
+@Component
+public class LegacySchemaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacySchemaMigration.class);
+
+    private final JdbcTemplate jdbc;
+
+    // Taking the EntityManagerFactory makes this run after Hibernate's schema update.
+    public LegacySchemaMigration(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    public void migrate() {
+        moveToLookup("category", "category", "category_id");
+        moveToLookup("difficultylevel", "difficulty_level", "difficulty_id");
+        ensureForeignKey("category_id", "category", "fk_question_category");
+        ensureForeignKey("difficulty_id", "difficulty_level", "fk_question_difficulty");
+        numberQuizQuestions();
+    }
+
+    private void moveToLookup(String legacyColumn, String lookupTable, String idColumn) {
+        if (!columnExists("question", legacyColumn)) {
+            return;
+        }
+        int added = jdbc.update("INSERT INTO " + lookupTable + " (name) SELECT DISTINCT q." + legacyColumn
+                + " FROM question q WHERE q." + legacyColumn + " IS NOT NULL AND NOT EXISTS (SELECT 1 FROM "
+                + lookupTable + " l WHERE l.name = q." + legacyColumn + ")");
+        int updated = jdbc.update("UPDATE question SET " + idColumn + " = (SELECT l.id FROM " + lookupTable
+                + " l WHERE l.name = question." + legacyColumn + ") WHERE " + idColumn + " IS NULL AND "
+                + legacyColumn + " IS NOT NULL");
+        jdbc.execute("ALTER TABLE question DROP COLUMN " + legacyColumn);
+        log.info("Migrated question.{} to {}: {} lookup rows, {} questions", legacyColumn, lookupTable, added, updated);
+    }
+
+    private void ensureForeignKey(String column, String lookupTable, String name) {
+        Boolean exists = jdbc.execute((Connection c) -> {
+            try (ResultSet rs = c.getMetaData().getImportedKeys(c.getCatalog(), null, "question")) {
+                while (rs.next()) {
+                    if (column.equalsIgnoreCase(rs.getString("FKCOLUMN_NAME"))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        });
+        if (!Boolean.TRUE.equals(exists)) {
+            jdbc.execute("ALTER TABLE question ADD CONSTRAINT " + name + " FOREIGN KEY (" + column + ") REFERENCES "
+                    + lookupTable + " (id)");
+        }
+    }
+
+    private void numberQuizQuestions() {
+        String product = jdbc.execute((Connection c) -> c.getMetaData().getDatabaseProductName().toLowerCase());
+        String order = product.contains("postgres") ? "quiz_id, ctid, question_id" : "quiz_id, question_id";
+        List<Object[]> rows = jdbc.query("SELECT quiz_id, question_id FROM quiz_question WHERE position IS NULL "
+                + "ORDER BY " + order, (rs, n) -> new Object[] { rs.getInt(1), rs.getInt(2) });
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        int quiz = -1;
+        int position = 0;
+        for (Object[] row : rows) {
+            int quizId = (Integer) row[0];
+            position = quizId == quiz ? position + 1 : 0;
+            quiz = quizId;
+            updates.add(new Object[] { position, quizId, row[1] });
+        }
+        jdbc.batchUpdate("UPDATE quiz_question SET position = ? WHERE quiz_id = ? AND question_id = ?", updates);
+        log.info("Numbered {} quiz_question rows", updates.size());
+    }
+
+    private boolean columnExists(String table, String column) {
+        Boolean exists = jdbc.execute((Connection c) -> {
+            DatabaseMetaData meta = c.getMetaData();
+            for (String t : new String[] { table, table.toUpperCase() }) {
+                for (String col : new String[] { column, column.toUpperCase() }) {
+                    try (ResultSet rs = meta.getColumns(c.getCatalog(), null, t, col)) {
+                        if (rs.next()) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
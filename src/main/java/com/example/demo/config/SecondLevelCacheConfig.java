@@ -0,0 +1,91 @@
+package com.example.demo.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Hibernate second-level cache for {@code Question} and {@code Quiz}, one
+ * bounded Caffeine region each. Every region is created here with a maximum
+ * size and a time-to-live, and Hibernate is told to fail rather than create
+ * an unbounded region for anything else.
+ *
+ * {@code Quiz.questions} is deliberately not cached: a cached collection holds
+ * only element ids, and once those questions have left their own region
+ * (bulk update, size limit, TTL) it is assembled with one select per question
+ * instead of the single join it replaces.
+ *
+ * Local writes keep the regions current (READ_WRITE), JPQL bulk statements
+ * evict their entity region and native ones evict everything; writes made on
+ * other nodes arrive as change events, see {@link SecondLevelCacheInvalidator}.
+ * Region metrics are published as {@code cache.*{cache=<region>}} plus
+ * {@code cache.hit.ratio}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String QUESTION_REGION = "question";
+    private static final String QUIZ_REGION = "quiz";
+
+    @Bean(destroyMethod = "close")
+    public CaffeineCachingProvider secondLevelCachingProvider() {
+        // a provider per context, so test contexts never share regions
+        return new CaffeineCachingProvider();
+    }
+
+    @Bean
+    public CacheManager secondLevelCacheManager(CaffeineCachingProvider secondLevelCachingProvider,
+            MeterRegistry registry,
+            @Value("${quiz.cache.question.max-entries:10000}") long questionMaxEntries,
+            @Value("${quiz.cache.quiz.max-entries:2000}") long quizMaxEntries,
+            @Value("${quiz.cache.ttl:10m}") Duration ttl) {
+        CacheManager manager = secondLevelCachingProvider.getCacheManager(URI.create("quiz-second-level"),
+                getClass().getClassLoader());
+        region(manager, registry, QUESTION_REGION, questionMaxEntries, ttl);
+        region(manager, registry, QUIZ_REGION, quizMaxEntries, ttl);
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", secondLevelCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.put("jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void region(CacheManager manager, MeterRegistry registry, String name, long maxEntries,
+            Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Hibernate stores immutable disassembled state, so copying on every get and put buys nothing
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+        Cache<Object, Object> cache = manager.createCache(name, configuration).unwrap(Cache.class);
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .description("Fraction of lookups served from the region since startup")
+                .register(registry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.Model.Question;
+import com.example.demo.Model.Quiz;
+import com.example.demo.events.ChangeEvent;
+import com.example.demo.events.ChangeEvent.Entity;
+import com.example.demo.events.ChangeEventBus;
+
+/**
+ * Drops second-level cache entries that another node has changed. Local
+ * writes are already reflected by Hibernate, so only events from other
+ * nodes are acted on: updates and deletes evict the one entry, CLEARED and
+ * BULK evict the entity's whole region.
+ */
+@Component
+public class SecondLevelCacheInvalidator {
+
+    @Autowired
+    ChangeEventBus eventBus;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void start() {
+        eventBus.addListener(event -> {
+            if (!eventBus.isLocal(event)) {
+                evict(event);
+            }
+        });
+    }
+
+    void evict(ChangeEvent event) {
+        Class<?> type = event.entity() == Entity.QUESTION ? Question.class : Quiz.class;
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        switch (event.action()) {
+        case CREATED -> {
+        }
+        case UPDATED, DELETED -> cache.evictEntityData(type, event.id());
+        case CLEARED, BULK -> cache.evictEntityData(type);
+        }
+    }
+}
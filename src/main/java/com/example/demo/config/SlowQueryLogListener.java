@@ -0,0 +1,65 @@
+package com.example.demo.config;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Logs statements that took at least the configured threshold. Formatting
+ * bind parameters is the expensive part, so it is only done for a sampled
+ * fraction of slow statements; fast statements cost one comparison.
+ */
+public class SlowQueryLogListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger("quiz.sql.slow");
+
+    private final long thresholdMs;
+    private final double bindSampleRate;
+
+    public SlowQueryLogListener(long thresholdMs, double bindSampleRate) {
+        this.thresholdMs = thresholdMs;
+        this.bindSampleRate = bindSampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMs || !log.isWarnEnabled()) {
+            return;
+        }
+        boolean withParams = bindSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < bindSampleRate;
+        StringBuilder sb = new StringBuilder();
+        for (QueryInfo query : queryInfoList) {
+            sb.append("\n  ").append(query.getQuery());
+            if (withParams) {
+                for (List<ParameterSetOperation> params : query.getParametersList()) {
+                    sb.append("\n    params ").append(formatParams(params));
+                }
+            }
+        }
+        log.warn("Slow query: {} ms, success={}, batch={}{}", execInfo.getElapsedTime(), execInfo.isSuccess(),
+                execInfo.isBatch(), sb);
+    }
+
+    private static String formatParams(List<ParameterSetOperation> params) {
+        StringBuilder sb = new StringBuilder("[");
+        for (ParameterSetOperation op : params) {
+            Object[] args = op.getArgs();
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(args[0]).append('=').append(args.length > 1 ? args[1] : null);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.events;
+
+/**
+ * A question or quiz mutation, published by the service layer so that read
+ * caches on this node, on other nodes and in the frontend can invalidate.
+ * {@code id} is 0 for {@link Action#CLEARED} and {@link Action#BULK}; the
+ * latter means any number of rows changed at once, so readers should drop
+ * everything they cache for the entity.
+ */
+public record ChangeEvent(String origin, Entity entity, Action action, int id, long timestamp) {
+
+    public enum Entity { QUESTION, QUIZ }
+
+    public enum Action { CREATED, UPDATED, DELETED, CLEARED, BULK }
+
+    String encode() {
+        return origin + '|' + entity + '|' + action + '|' + id + '|' + timestamp;
+    }
+
+    static ChangeEvent decode(String payload) {
+        String[] parts = payload.split("\\|");
+        return new ChangeEvent(parts[0], Entity.valueOf(parts[1]), Action.valueOf(parts[2]),
+                Integer.parseInt(parts[3]), Long.parseLong(parts[4]));
+    }
+}
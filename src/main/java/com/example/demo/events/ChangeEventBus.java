@@ -0,0 +1,144 @@
+package com.example.demo.events;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.events.ChangeEvent.Action;
+import com.example.demo.events.ChangeEvent.Entity;
+
+/**
+ * Fans question/quiz change events out to in-process listeners, to SSE
+ * subscribers and, through the {@link ChangeEventTransport}, to other nodes.
+ *
+ * Every SSE subscriber gets a bounded buffer drained on its own virtual
+ * thread. A subscriber that falls a full buffer behind is disconnected rather
+ * than slowing publishers down; on reconnect it must treat its caches as stale.
+ */
+@Component
+public class ChangeEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ChangeEventTransport transport;
+    private final int bufferSize;
+    private final long sseTimeoutMs;
+    private final List<Consumer<ChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ChangeEventBus(ChangeEventTransport transport,
+                          @Value("${quiz.events.subscriber-buffer:256}") int bufferSize,
+                          @Value("${quiz.events.sse-timeout-ms:1800000}") long sseTimeoutMs) {
+        this.transport = transport;
+        this.bufferSize = bufferSize;
+        this.sseTimeoutMs = sseTimeoutMs;
+        transport.onReceive(event -> {
+            if (!nodeId.equals(event.origin())) {
+                deliver(event);
+            }
+        });
+    }
+
+    public void publish(Entity entity, Action action, int id) {
+        ChangeEvent event = new ChangeEvent(nodeId, entity, action, id, System.currentTimeMillis());
+        deliver(event);
+        try {
+            transport.send(event);
+        } catch (RuntimeException e) {
+            log.warn("Could not send change event {} to other nodes", event, e);
+        }
+    }
+
+    /** Registers an in-process listener, called on the publishing thread. */
+    public void addListener(Consumer<ChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /** Whether the event was published on this node. */
+    public boolean isLocal(ChangeEvent event) {
+        return nodeId.equals(event.origin());
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void deliver(ChangeEvent event) {
+        for (Consumer<ChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Change event listener failed for {}", event, e);
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.buffer.offer(event)) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+                continue;
+            }
+            if (subscriber.draining.compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            ChangeEvent event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event().name("change").data(event));
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(subscriber);
+                    subscriber.buffer.clear();
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event offered after the last poll but before the flag was
+            // cleared would otherwise sit in the buffer until the next publish.
+        } while (!subscriber.buffer.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdown();
+    }
+
+    private record Subscriber(SseEmitter emitter, Queue<ChangeEvent> buffer, AtomicBoolean draining) {
+        Subscriber(SseEmitter emitter, Queue<ChangeEvent> buffer) {
+            this(emitter, buffer, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.events;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries change events between application instances. Implementations must
+ * deliver every sent event to every registered receiver, including the ones on
+ * the sending node; {@link ChangeEventBus} drops its own echoes.
+ */
+public interface ChangeEventTransport {
+
+    void send(ChangeEvent event);
+
+    void onReceive(Consumer<ChangeEvent> receiver);
+}
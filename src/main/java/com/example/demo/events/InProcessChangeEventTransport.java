@@ -0,0 +1,41 @@
+package com.example.demo.events;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transport shared by every application context in the same JVM. It is the
+ * single-node default and lets tests run several "nodes" side by side.
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.events.transport", havingValue = "in-process", matchIfMissing = true)
+public class InProcessChangeEventTransport implements ChangeEventTransport {
+
+    private static final List<Consumer<ChangeEvent>> RECEIVERS = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<ChangeEvent>> registered = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(ChangeEvent event) {
+        for (Consumer<ChangeEvent> receiver : RECEIVERS) {
+            receiver.accept(event);
+        }
+    }
+
+    @Override
+    public void onReceive(Consumer<ChangeEvent> receiver) {
+        registered.add(receiver);
+        RECEIVERS.add(receiver);
+    }
+
+    @PreDestroy
+    public void close() {
+        RECEIVERS.removeAll(registered);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.events;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PreDestroy;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.config.DataSourcePartition;
+
+/**
+ * Cross-node transport over Postgres {@code LISTEN/NOTIFY}. The listener
+ * holds one connection for the lifetime of the application, opened straight
+ * from the driver with the {@code spring.datasource.*} settings so it never
+ * takes a pool slot; sends borrow a background connection per event, since
+ * the publishing request may still hold its own.
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.events.transport", havingValue = "postgres")
+public class PostgresChangeEventTransport implements ChangeEventTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresChangeEventTransport.class);
+
+    private final DataSource dataSource;
+    private final DataSourceProperties properties;
+    private final String channel;
+    private final List<Consumer<ChangeEvent>> receivers = new CopyOnWriteArrayList<>();
+    private final Thread listener;
+    private volatile boolean running = true;
+
+    public PostgresChangeEventTransport(DataSource dataSource, DataSourceProperties properties,
+                                        @Value("${quiz.events.channel:quiz_changes}") String channel) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid NOTIFY channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.channel = channel;
+        this.listener = Thread.ofPlatform().daemon().name("pg-change-listener").start(this::listen);
+    }
+
+    @Override
+    public void send(ChangeEvent event) {
+        try (Connection c = DataSourcePartition.BACKGROUND.getConnection(dataSource);
+             PreparedStatement ps = c.prepareStatement("SELECT pg_notify(?, ?)")) {
+            ps.setString(1, channel);
+            ps.setString(2, event.encode());
+            ps.execute();
+        } catch (SQLException e) {
+            log.warn("Could not publish change event {}", event, e);
+        }
+    }
+
+    @Override
+    public void onReceive(Consumer<ChangeEvent> receiver) {
+        receivers.add(receiver);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection c = DriverManager.getConnection(properties.determineUrl(),
+                    properties.determineUsername(), properties.determinePassword())) {
+                try (Statement st = c.createStatement()) {
+                    st.execute("LISTEN " + channel);
+                }
+                PGConnection pg = c.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(500);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification n : notifications) {
+                        ChangeEvent event = ChangeEvent.decode(n.getParameter());
+                        for (Consumer<ChangeEvent> receiver : receivers) {
+                            receiver.accept(event);
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Change event listener lost its connection, reconnecting", e);
+                    sleepQuietly(1000);
+                }
+            }
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        listener.join(2000);
+    }
+}
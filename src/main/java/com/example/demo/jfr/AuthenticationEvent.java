@@ -0,0 +1,25 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JWT check and user lookup done by {@code JwtRequestFilter} for one request. */
+@Name("com.example.quiz.Authentication")
+@Label("Authentication")
+@Category({ "Quiz", "Security" })
+@StackTrace(false)
+public class AuthenticationEvent extends jdk.jfr.Event {
+
+    public static final String PUBLIC = "public", ANONYMOUS = "anonymous", AUTHENTICATED = "authenticated",
+            REVOKED = "revoked", INVALID = "invalid";
+
+    @Label("Path")
+    public String path;
+
+    @Label("Outcome")
+    @Description("public, anonymous, authenticated, revoked or invalid")
+    public String outcome;
+}
@@ -0,0 +1,51 @@
+package com.example.demo.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * An always-on, disk-backed flight recording: the JDK's low-overhead settings
+ * (GC, safepoints, lock contention, socket and file I/O) plus the quiz events,
+ * trimmed to {@code maxAge} and {@code maxSizeMb}. Started by the {@code jfr}
+ * profile; {@code /actuator/jfr} dumps it on demand.
+ */
+public class ContinuousRecording implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    private final Recording recording;
+
+    public ContinuousRecording(String settings, Duration maxAge, long maxSizeMb, Duration repositoryThreshold,
+            Path dumpOnExit) throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("quiz-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        recording.setDumpOnExit(dumpOnExit != null);
+        if (dumpOnExit != null) {
+            recording.setDestination(dumpOnExit);
+        }
+        recording.enable(AuthenticationEvent.class);
+        recording.enable(QuizCreateEvent.class);
+        recording.enable(QuizQuestionsEvent.class);
+        recording.enable(QuizScoreEvent.class);
+        recording.enable(RepositoryCallEvent.class).withThreshold(repositoryThreshold);
+        recording.start();
+        log.info("Continuous flight recording started ({} settings, max age {}, max size {} MB)", settings, maxAge,
+                maxSizeMb);
+    }
+
+    @Override
+    public void close() {
+        recording.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuizDao;
+
+/**
+ * Custom JFR events are always emitted; they cost next to nothing unless a
+ * recording is running. {@code quiz.jfr.enabled=true} (the {@code jfr}
+ * profile) starts a continuous recording at boot.
+ */
+@Configuration
+public class FlightRecorderConfig {
+
+    @Bean
+    public static RepositoryCallRecorder repositoryCallRecorder() {
+        return new RepositoryCallRecorder(Set.of(QuestionDao.class, QuizDao.class));
+    }
+
+    @Bean
+    public FlightRecorderEndpoint flightRecorderEndpoint(@Value("${quiz.jfr.dump-dir:jfr-dumps}") Path directory) {
+        return new FlightRecorderEndpoint(directory);
+    }
+
+    @Bean
+    @ConditionalOnProperty("quiz.jfr.enabled")
+    public ContinuousRecording continuousRecording(@Value("${quiz.jfr.settings:default}") String settings,
+            @Value("${quiz.jfr.max-age:6h}") Duration maxAge,
+            @Value("${quiz.jfr.max-size-mb:250}") long maxSizeMb,
+            @Value("${quiz.jfr.repository-threshold:1ms}") Duration repositoryThreshold,
+            @Value("${quiz.jfr.dump-on-exit:}") String dumpOnExit) throws IOException, ParseException {
+        return new ContinuousRecording(settings, maxAge, maxSizeMb, repositoryThreshold,
+                dumpOnExit.isBlank() ? null : Path.of(dumpOnExit));
+    }
+}
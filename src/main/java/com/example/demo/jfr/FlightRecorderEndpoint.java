@@ -0,0 +1,86 @@
+package com.example.demo.jfr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+/**
+ * {@code GET /actuator/jfr}: a snapshot of every running flight recording
+ * (the {@code jfr} profile's continuous one, or one started with
+ * {@code -XX:StartFlightRecording}) as a {@code .jfr} file for JDK Mission
+ * Control or {@code jfr print}. Each snapshot is written to a file in
+ * {@code quiz.jfr.dump-dir}, streamed from there and deleted once the
+ * response has been read; files left by responses that were never written
+ * are removed by the next request once they are an hour old.
+ */
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderEndpoint.class);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final String PREFIX = "quiz-snapshot-";
+    private static final Duration ABANDONED_AFTER = Duration.ofHours(1);
+
+    private final Path directory;
+
+    public FlightRecorderEndpoint(Path directory) {
+        this.directory = directory;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump() throws IOException {
+        if (!FlightRecorder.isInitialized() || FlightRecorder.getFlightRecorder().getRecordings().isEmpty()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Files.createDirectories(directory);
+        deleteAbandoned();
+        Path file = Files.createTempFile(directory, PREFIX + LocalDateTime.now().format(FILE_TIME) + "-", ".jfr");
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            if (snapshot.getSize() == 0) {
+                Files.delete(file);
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            snapshot.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+            }
+        }, WebEndpointResponse.STATUS_OK);
+    }
+
+    private void deleteAbandoned() {
+        Instant cutoff = Instant.now().minus(ABANDONED_AFTER);
+        try (DirectoryStream<Path> dumps = Files.newDirectoryStream(directory, PREFIX + "*.jfr")) {
+            for (Path dump : dumps) {
+                if (Files.getLastModifiedTime(dump).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(dump);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up {}", directory, e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Random question sampling, quiz insert and snapshot freeze in {@code QuizService.createQuize}. */
+@Name("com.example.quiz.QuizCreate")
+@Label("Quiz Create")
+@Category("Quiz")
+@StackTrace(false)
+public class QuizCreateEvent extends jdk.jfr.Event {
+
+    @Label("Category")
+    public String category;
+
+    @Label("Requested")
+    public int requested;
+
+    @Label("Quiz Id")
+    public int quizId;
+
+    @Label("Question Count")
+    public int questionCount;
+
+    @Label("Outcome")
+    public String outcome;
+}
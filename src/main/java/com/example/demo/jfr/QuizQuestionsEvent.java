@@ -0,0 +1,23 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Snapshot lookup and per-candidate shuffle in {@code QuizService.getQuizQuestions}. */
+@Name("com.example.quiz.QuizQuestions")
+@Label("Quiz Questions")
+@Category("Quiz")
+@StackTrace(false)
+public class QuizQuestionsEvent extends jdk.jfr.Event {
+
+    @Label("Quiz Id")
+    public int quizId;
+
+    @Label("Question Count")
+    public int questionCount;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,29 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Answer-key decode and scoring of one submission in {@code QuizService.calculateResult}. */
+@Name("com.example.quiz.QuizScore")
+@Label("Quiz Score")
+@Category("Quiz")
+@StackTrace(false)
+public class QuizScoreEvent extends jdk.jfr.Event {
+
+    @Label("Quiz Id")
+    public int quizId;
+
+    @Label("Question Count")
+    public int questionCount;
+
+    @Label("Responses")
+    public int responses;
+
+    @Label("Score")
+    public int score;
+
+    @Label("Outcome")
+    public String outcome;
+}
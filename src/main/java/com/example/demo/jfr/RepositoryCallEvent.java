@@ -0,0 +1,34 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One call into {@code QuestionDao} or {@code QuizDao}, including the time
+ * spent waiting for a pooled connection. Only calls above the threshold are
+ * committed, so always-on recording stays cheap on hot read paths.
+ */
+@Name("com.example.quiz.RepositoryCall")
+@Label("Repository Call")
+@Category({ "Quiz", "Persistence" })
+@StackTrace(false)
+@Threshold("1 ms")
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Rows")
+    @Description("Size of the returned collection, 0/1 for an Optional, the update count of a modifying query, else -1")
+    public int rows;
+
+    @Label("Outcome")
+    public String outcome;
+}
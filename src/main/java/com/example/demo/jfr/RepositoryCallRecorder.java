@@ -0,0 +1,72 @@
+package com.example.demo.jfr;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds a {@link RepositoryCallEvent} interceptor to the proxies of the given
+ * Spring Data repositories. With no recording running, {@code begin} and
+ * {@code shouldCommit} are intrinsics the JIT folds to almost nothing.
+ */
+public class RepositoryCallRecorder implements BeanPostProcessor {
+
+    private final Set<Class<?>> repositories;
+
+    public RepositoryCallRecorder(Set<Class<?>> repositories) {
+        this.repositories = repositories;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxy, information) -> {
+                        if (repositories.contains(information.getRepositoryInterface())) {
+                            proxy.addAdvice(new Interceptor(information.getRepositoryInterface().getSimpleName()));
+                        }
+                    }));
+        }
+        return bean;
+    }
+
+    private record Interceptor(String repository) implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            event.begin();
+            Object result = null;
+            String outcome = "error";
+            try {
+                result = invocation.proceed();
+                outcome = "ok";
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.rows = rows(result);
+                    event.outcome = outcome;
+                    event.commit();
+                }
+            }
+        }
+
+        private static int rows(Object result) {
+            if (result instanceof Collection<?> c) {
+                return c.size();
+            }
+            if (result instanceof Optional<?> o) {
+                return o.isPresent() ? 1 : 0;
+            }
+            return result instanceof Integer n ? n : -1;
+        }
+    }
+}
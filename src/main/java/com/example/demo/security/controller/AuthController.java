@@ -11,6 +11,9 @@ import com.example.demo.security.repo.RoleRepository;
 import com.example.demo.security.model.User;
 import com.example.demo.security.model.Role;
 import com.example.demo.security.jwt.JwtUtil;
+import com.example.demo.security.jwt.TokenDenylist;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.security.core.userdetails.UserDetails;
 import com.example.demo.security.service.CustomUserDetailsService;
 import java.util.Set;
@@ -30,6 +33,8 @@ public class AuthController {
     private RoleRepository roleRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private TokenDenylist denylist;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegisterRequest req) {
@@ -96,9 +101,64 @@ public class AuthController {
         return ResponseEntity.ok(new AuthResponse(jwt));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().body("missing bearer token");
+        }
+        try {
+            Claims claims = jwtUtil.parseClaims(authHeader.substring(7));
+            if (claims.getSubject() == null) {
+                return ResponseEntity.badRequest().body("token has no subject");
+            }
+            revoke(claims);
+            return ResponseEntity.ok("Logged out");
+        } catch (JwtException e) {
+            return ResponseEntity.status(401).body("invalid token");
+        }
+    }
+
+    // Revokes one token, or every token already issued to a user
+    @PostMapping("/admin/revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> revoke(@RequestBody RevokeRequest req) {
+        if (req.token() != null) {
+            try {
+                Claims claims = jwtUtil.parseClaims(req.token());
+                if (claims.getSubject() == null) {
+                    return ResponseEntity.badRequest().body("token has no subject");
+                }
+                revoke(claims);
+                return ResponseEntity.ok("Token revoked");
+            } catch (JwtException e) {
+                return ResponseEntity.badRequest().body("invalid token");
+            }
+        }
+        if (req.username() != null) {
+            denylist.revokeUser(req.username(), jwtUtil.getExpirationMs());
+            return ResponseEntity.ok("All tokens of " + req.username() + " revoked");
+        }
+        return ResponseEntity.badRequest().body("token or username required");
+    }
+
+    // Tokens issued without an id cannot be revoked alone: every token of their
+    // user up to and including this one's second is revoked instead
+    private void revoke(Claims claims) {
+        if (claims.getId() != null) {
+            long expiresAt = claims.getExpiration() == null ? System.currentTimeMillis() + jwtUtil.getExpirationMs()
+                    : claims.getExpiration().getTime();
+            denylist.revokeToken(claims.getId(), expiresAt);
+            return;
+        }
+        long issuedAt = claims.getIssuedAt() == null ? System.currentTimeMillis() : claims.getIssuedAt().getTime();
+        denylist.revokeUser(claims.getSubject(), Math.max(System.currentTimeMillis(), issuedAt / 1000 * 1000 + 1000),
+                jwtUtil.getExpirationMs());
+    }
+
     // DTOs (create as static classes or separate files)
     public static record RegisterRequest(String username, String password, String email) {} // Removed role since only USER allowed
     public static record AdminRegisterRequest(String username, String password, String role, String email) {} // For admin use only
     public static record AuthRequest(String username, String password) {}
     public static record AuthResponse(String token) {}
+    public static record RevokeRequest(String token, String username) {}
 }
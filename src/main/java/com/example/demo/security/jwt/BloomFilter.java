@@ -0,0 +1,58 @@
+package com.example.demo.security.jwt;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. Lookups only read the string's cached
+ * hash code and a few words of the bit array, so they never allocate. The
+ * filter cannot forget entries; {@link TokenDenylist} rebuilds it instead.
+ */
+final class BloomFilter {
+    private final AtomicLongArray words;
+    private final int bits;
+    private final int hashes;
+
+    BloomFilter(int expectedEntries, double falsePositiveRate) {
+        int n = Math.max(expectedEntries, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = (int) Math.min(Math.max(m, 64), Integer.MAX_VALUE - 63);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        this.words = new AtomicLongArray((bits + 63) >>> 6);
+    }
+
+    void add(String value, int seed) {
+        int h1 = mix(value.hashCode() ^ seed);
+        int h2 = mix(h1 + 0x9E3779B9) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            long mask = 1L << bit;
+            int index = bit >>> 6;
+            long word;
+            do {
+                word = words.get(index);
+            } while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask));
+        }
+    }
+
+    boolean mightContain(String value, int seed) {
+        int h1 = mix(value.hashCode() ^ seed);
+        int h2 = mix(h1 + 0x9E3779B9) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // murmur3 finalizer
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
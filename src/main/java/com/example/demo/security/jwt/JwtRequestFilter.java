@@ -11,7 +11,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import com.example.demo.jfr.AuthenticationEvent;
 import com.example.demo.security.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import java.io.IOException;
 
 @Component
@@ -20,6 +22,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
     @Autowired
     private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private TokenDenylist denylist;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest req, @NonNull HttpServletResponse res, @NonNull FilterChain chain)
@@ -27,30 +31,46 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         
         // Skip JWT processing ONLY for public auth endpoints (not admin endpoints)
         String requestPath = req.getRequestURI();
+        AuthenticationEvent event = new AuthenticationEvent();
+        event.begin();
+        event.path = requestPath;
         if (requestPath.equals("/auth/register") || requestPath.equals("/auth/login")) {
+            event.outcome = AuthenticationEvent.PUBLIC;
+            event.commit();
             chain.doFilter(req, res);
             return;
         }
         
         final String authHeader = req.getHeader("Authorization");
         String username = null;
-        String jwt = null;
+        event.outcome = AuthenticationEvent.ANONYMOUS;
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // parseClaims rejects bad signatures and expired tokens
+                Claims claims = jwtUtil.parseClaims(authHeader.substring(7));
+                username = claims.getSubject();
+                if (denylist.isRevoked(claims.getId(), username, claims.getIssuedAt().getTime())) {
+                    username = null;
+                    event.outcome = AuthenticationEvent.REVOKED;
+                }
             } catch (Exception e) {
                 // invalid token -> let Spring handle (401)
+                event.outcome = AuthenticationEvent.INVALID;
             }
         }
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails ud = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.isTokenValid(jwt, ud)) {
+        try {
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                event.outcome = AuthenticationEvent.INVALID;
+                UserDetails ud = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken token =
                     new UsernamePasswordAuthenticationToken(ud, null, ud.getAuthorities());
                 token.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
                 SecurityContextHolder.getContext().setAuthentication(token);
+                event.outcome = AuthenticationEvent.AUTHENTICATED;
             }
+        } finally {
+            // ends before the rest of the chain, so the event times only authentication
+            event.commit();
         }
         chain.doFilter(req, res);
     }
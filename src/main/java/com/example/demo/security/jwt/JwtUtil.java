@@ -25,6 +25,7 @@ public class JwtUtil {
             .map(Object::toString).toList());
         return Jwts.builder()
             .setClaims(claims)
+            .setId(UUID.randomUUID().toString())
             .setSubject(userDetails.getUsername())
             .setIssuedAt(new Date())
             .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
@@ -32,6 +33,16 @@ public class JwtUtil {
             .compact();
     }
 
+    /** Verifies the signature and expiry and returns the claims in one parse. */
+    public Claims parseClaims(String token) {
+        return Jwts.parserBuilder().setSigningKey(key).build()
+                   .parseClaimsJws(token).getBody();
+    }
+
+    public long getExpirationMs() {
+        return jwtExpirationMs;
+    }
+
     public String extractUsername(String token) {
         return Jwts.parserBuilder().setSigningKey(key).build()
                    .parseClaimsJws(token).getBody().getSubject();
@@ -0,0 +1,87 @@
+package com.example.demo.security.jwt;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.example.demo.security.model.RevokedToken;
+
+/**
+ * Immutable view of the revoked tokens and per-user cutoffs, fronted by a
+ * Bloom filter so the common case (not revoked) never touches the exact maps.
+ * Shared by the servlet {@link TokenDenylist} and the reactive candidate API so
+ * both stacks reject exactly the same tokens.
+ */
+public final class RevocationSet {
+    private static final int TOKEN_SEED = 0x7A3C19E5;
+    private static final int USER_SEED = 0x2F6B8D41;
+
+    private final BloomFilter filter;
+    private final Map<String, Long> tokens;
+    private final Map<String, Long> users;
+
+    private RevocationSet(BloomFilter filter, Map<String, Long> tokens, Map<String, Long> users) {
+        this.filter = filter;
+        this.tokens = tokens;
+        this.users = users;
+    }
+
+    public static RevocationSet empty(int expectedEntries, double falsePositiveRate) {
+        return new RevocationSet(new BloomFilter(expectedEntries, falsePositiveRate), Map.of(), Map.of());
+    }
+
+    /** Builds a fresh filter sized for at least {@code expectedEntries}. */
+    public static RevocationSet of(Iterable<RevokedToken> revoked, int expectedEntries, double falsePositiveRate) {
+        Map<String, Long> tokens = new HashMap<>();
+        Map<String, Long> users = new HashMap<>();
+        for (RevokedToken r : revoked) {
+            if (r.getKind() == RevokedToken.Kind.TOKEN) {
+                tokens.put(r.getKey(), r.getExpiresAt());
+            } else {
+                users.put(r.getKey(), r.getIssuedBefore());
+            }
+        }
+        BloomFilter filter = new BloomFilter(Math.max(expectedEntries, tokens.size() + users.size()),
+                falsePositiveRate);
+        tokens.keySet().forEach(k -> filter.add(k, TOKEN_SEED));
+        users.keySet().forEach(k -> filter.add(k, USER_SEED));
+        return new RevocationSet(filter, tokens, users);
+    }
+
+    /**
+     * @param issuedAtMs the token's {@code iat}, used for user-wide revocations.
+     *        {@code iat} has whole-second precision, so the millisecond cutoff is
+     *        truncated to its second: a token issued in the same second as the
+     *        revocation is kept, whether it came just before or just after.
+     */
+    public boolean isRevoked(String jti, String username, long issuedAtMs) {
+        if (jti != null && filter.mightContain(jti, TOKEN_SEED) && tokens.containsKey(jti)) {
+            return true;
+        }
+        if (filter.mightContain(username, USER_SEED)) {
+            Long cutoff = users.get(username);
+            return cutoff != null && issuedAtMs < cutoff / 1000 * 1000;
+        }
+        return false;
+    }
+
+    /**
+     * Copy with one more entry. The filter is shared and updated in place, so
+     * callers must publish the returned set before calling {@link #mark}.
+     */
+    RevocationSet with(RevokedToken revoked) {
+        Map<String, Long> t = tokens;
+        Map<String, Long> u = users;
+        if (revoked.getKind() == RevokedToken.Kind.TOKEN) {
+            t = new HashMap<>(t);
+            t.put(revoked.getKey(), revoked.getExpiresAt());
+        } else {
+            u = new HashMap<>(u);
+            u.put(revoked.getKey(), revoked.getIssuedBefore());
+        }
+        return new RevocationSet(filter, t, u);
+    }
+
+    void mark(RevokedToken revoked) {
+        filter.add(revoked.getKey(), revoked.getKind() == RevokedToken.Kind.TOKEN ? TOKEN_SEED : USER_SEED);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.demo.security.jwt;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.example.demo.security.model.RevokedToken;
+import com.example.demo.security.repo.RevokedTokenRepository;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked token ids and per-user revocation cutoffs. Requests are checked
+ * against an in-memory Bloom filter first; only a filter hit (a revoked token
+ * or a rare false positive) consults the exact maps, and nothing on the check
+ * path touches the database or allocates.
+ *
+ * Revocations are persisted so they survive restarts and reach other nodes:
+ * every {@code jwt.denylist.refresh-ms} the state is reloaded from the
+ * database, expired entries are dropped and the filter is rebuilt.
+ */
+@Component
+public class TokenDenylist {
+    private static final Logger log = LoggerFactory.getLogger(TokenDenylist.class);
+
+    private final RevokedTokenRepository repository;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final long refreshMs;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "token-denylist-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Object writeLock = new Object();
+    private volatile RevocationSet state;
+
+    public TokenDenylist(RevokedTokenRepository repository,
+                         @Value("${jwt.denylist.expected-entries:100000}") int expectedEntries,
+                         @Value("${jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate,
+                         @Value("${jwt.denylist.refresh-ms:30000}") long refreshMs) {
+        this.repository = repository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshMs = refreshMs;
+        this.state = RevocationSet.empty(expectedEntries, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void start() {
+        refresh();
+        refresher.scheduleWithFixedDelay(this::refresh, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** @param issuedAtMs the token's {@code iat}, used for user-wide revocations */
+    public boolean isRevoked(String jti, String username, long issuedAtMs) {
+        return state.isRevoked(jti, username, issuedAtMs);
+    }
+
+    public void revokeToken(String jti, long expiresAtMs) {
+        if (jti == null) {
+            throw new IllegalArgumentException("token has no id; revoke its user instead");
+        }
+        persist(new RevokedToken(jti, RevokedToken.Kind.TOKEN, 0, expiresAtMs));
+    }
+
+    /** Revokes every token of {@code username} issued before now. */
+    public void revokeUser(String username, long tokenLifetimeMs) {
+        revokeUser(username, System.currentTimeMillis(), tokenLifetimeMs);
+    }
+
+    /**
+     * Revokes every token of {@code username} issued before {@code issuedBeforeMs}
+     * (whole seconds, as {@code iat} is compared).
+     */
+    public void revokeUser(String username, long issuedBeforeMs, long tokenLifetimeMs) {
+        persist(new RevokedToken(username, RevokedToken.Kind.USER, issuedBeforeMs, issuedBeforeMs + tokenLifetimeMs));
+    }
+
+    private void persist(RevokedToken revoked) {
+        synchronized (writeLock) {
+            repository.save(revoked);
+            // publish the exact entry before the filter bit so a filter hit always finds it
+            state = state.with(revoked);
+            state.mark(revoked);
+        }
+    }
+
+    void refresh() {
+        try {
+            long now = System.currentTimeMillis();
+            repository.deleteExpired(now);
+            synchronized (writeLock) {
+                state = RevocationSet.of(repository.findByExpiresAtGreaterThan(now), expectedEntries,
+                        falsePositiveRate);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh token denylist", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        refresher.shutdownNow();
+    }
+}
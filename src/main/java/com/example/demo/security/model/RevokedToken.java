@@ -0,0 +1,30 @@
+package com.example.demo.security.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A revoked JWT ({@code token}: keyed by its jti) or every token of a user
+ * issued before {@code issuedBefore} ({@code user}: keyed by username). Rows
+ * are purged once {@code expiresAt} passes, since the tokens they cover can no
+ * longer be used anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RevokedToken {
+    public enum Kind { TOKEN, USER }
+
+    @Id
+    @Column(name = "revoked_key")
+    private String key;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Kind kind;
+
+    private long issuedBefore;
+
+    @Column(nullable = false)
+    private long expiresAt;
+}
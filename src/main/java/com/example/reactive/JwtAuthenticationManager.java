@@ -0,0 +1,90 @@
+package com.example.reactive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.security.jwt.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@code JwtRequestFilter}: one parse verifies the
+ * signature and expiry, the denylist rejects revoked tokens and users, and the
+ * caller's roles are read from {@code user_roles} without blocking.
+ */
+@Component
+public class JwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    /** An unverified bearer token, as taken from the Authorization header. */
+    public static class BearerToken extends AbstractAuthenticationToken {
+        private final String token;
+
+        public BearerToken(String token) {
+            super(List.of());
+            this.token = token;
+        }
+
+        @Override
+        public Object getCredentials() {
+            return token;
+        }
+
+        @Override
+        public Object getPrincipal() {
+            return null;
+        }
+    }
+
+    private record RoleRow(Long userId, String role) {}
+
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private ReactiveTokenDenylist denylist;
+    @Autowired
+    private DatabaseClient db;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims((String) authentication.getCredentials());
+        } catch (Exception e) {
+            return Mono.error(new BadCredentialsException("Invalid token", e));
+        }
+        String username = claims.getSubject();
+        if (denylist.isRevoked(claims.getId(), username, claims.getIssuedAt().getTime())) {
+            return Mono.error(new BadCredentialsException("Token revoked"));
+        }
+        return db.sql("SELECT u.id, ur.role_name FROM users u LEFT JOIN user_roles ur ON ur.user_id = u.id "
+                + "WHERE u.username = :username")
+            .bind("username", username)
+            .map(row -> new RoleRow(row.get(0, Long.class), row.get(1, String.class)))
+            .all()
+            .collectList()
+            .flatMap(rows -> {
+                if (rows.isEmpty()) {
+                    return Mono.error(new BadCredentialsException("User not found"));
+                }
+                List<GrantedAuthority> authorities = new ArrayList<>();
+                for (RoleRow r : rows) {
+                    if (r.role() != null) {
+                        authorities.add(new SimpleGrantedAuthority("ROLE_" + r.role()));
+                    }
+                }
+                return Mono.just(new UsernamePasswordAuthenticationToken(username, null, authorities));
+            });
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Bean;
+
+import com.example.demo.Service.QuizShuffler;
+import com.example.demo.security.jwt.JwtUtil;
+
+/**
+ * Non-blocking implementation of the candidate endpoints
+ * ({@code user/quiz/get/{id}}, {@code user/quiz/submit/{id}},
+ * {@code user/quiz/all}) on WebFlux and R2DBC. It runs as a separate process
+ * next to {@link com.example.demo.NewQuizApplication}, which keeps the admin
+ * API on JPA; both share the database, the JWT secret, quiz snapshots and the
+ * per-candidate shuffle, so either can serve a candidate.
+ *
+ * Configuration is application.properties overlaid with
+ * candidate-reactive.properties.
+ */
+@SpringBootApplication(exclude = { DataSourceAutoConfiguration.class,
+		DataSourceTransactionManagerAutoConfiguration.class, HibernateJpaAutoConfiguration.class })
+public class ReactiveCandidateApplication {
+
+	public static void main(String[] args) {
+		builder().run(args);
+	}
+
+	public static SpringApplicationBuilder builder() {
+		return new SpringApplicationBuilder(ReactiveCandidateApplication.class)
+				.properties("spring.config.name=application,candidate-reactive");
+	}
+
+	@Bean
+	JwtUtil jwtUtil(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration-ms:3600000}") long expirationMs) {
+		return new JwtUtil(secret, expirationMs);
+	}
+
+	@Bean
+	QuizShuffler quizShuffler(@Value("${quiz.shuffle.enabled:true}") boolean enabled,
+			@Value("${quiz.shuffle.secret:}") String secret, @Value("${jwt.secret}") String jwtSecret) {
+		return new QuizShuffler(enabled, secret, jwtSecret);
+	}
+}
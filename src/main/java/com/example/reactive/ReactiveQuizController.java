@@ -0,0 +1,42 @@
+package com.example.reactive;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.Model.QuestionWrapper;
+import com.example.demo.Model.Quiz;
+import com.example.demo.Model.QuizResult;
+import com.example.demo.Model.Response;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+public class ReactiveQuizController {
+	@Autowired
+	ReactiveQuizService quizService;
+
+	@GetMapping("user/quiz/get/{id}")
+	public Mono<ResponseEntity<List<QuestionWrapper>>> getQuizQuestions(@PathVariable int id, Principal principal) {
+		return quizService.getQuizQuestions(id, principal.getName());
+	}
+
+	@PostMapping("user/quiz/submit/{id}")
+	public Mono<ResponseEntity<QuizResult>> submitQuiz(@PathVariable int id, @RequestBody List<Response> responses,
+			Principal principal, @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+		return quizService.submit(id, responses, principal.getName(), idempotencyKey);
+	}
+
+	@GetMapping("user/quiz/all")
+	public Mono<ResponseEntity<List<Quiz>>> getAllQuizzes() {
+		return quizService.getAllQuizzes();
+	}
+}
@@ -0,0 +1,136 @@
+package com.example.reactive;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.Model.Question;
+import com.example.demo.Model.Quiz;
+import com.example.demo.Model.QuizSnapshot;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC reads and writes of the tables mapped by the JPA entities. Results are
+ * materialised into the same model classes so the snapshot codec and the JSON
+ * shape are shared with the servlet application.
+ */
+@Repository
+public class ReactiveQuizRepository {
+
+	private static final String QUESTION_COLUMNS = "q.id, q.question_title, q.option1, q.option2, q.option3, "
+			+ "q.option4, q.right_answer, d.name, c.name";
+
+	private record QuizRow(int quizId, String title, Question question) {
+	}
+
+	@Autowired
+	DatabaseClient db;
+
+	public Mono<QuizSnapshot> findSnapshot(int quizId) {
+		return db.sql("SELECT quiz_id, version, question_count, questions, answer_key FROM quiz_snapshot "
+				+ "WHERE quiz_id = :id")
+				.bind("id", quizId)
+				.map(row -> {
+					QuizSnapshot snapshot = new QuizSnapshot();
+					snapshot.setQuizId(row.get(0, Integer.class));
+					snapshot.setVersion(row.get(1, Integer.class));
+					snapshot.setQuestionCount(row.get(2, Integer.class));
+					snapshot.setQuestions(row.get(3, byte[].class));
+					snapshot.setAnswerKey(row.get(4, byte[].class));
+					return snapshot;
+				})
+				.one();
+	}
+
+	/** Completes empty if another node stored the snapshot first. */
+	public Mono<Void> insertSnapshot(QuizSnapshot snapshot) {
+		return db.sql("INSERT INTO quiz_snapshot (quiz_id, version, question_count, questions, answer_key) "
+				+ "VALUES (:id, :version, :count, :questions, :answerKey)")
+				.bind("id", snapshot.getQuizId())
+				.bind("version", snapshot.getVersion())
+				.bind("count", snapshot.getQuestionCount())
+				.bind("questions", snapshot.getQuestions())
+				.bind("answerKey", snapshot.getAnswerKey())
+				.then()
+				.onErrorResume(DuplicateKeyException.class, e -> Mono.empty());
+	}
+
+	public Mono<Boolean> quizExists(int quizId) {
+		return db.sql("SELECT 1 FROM quiz WHERE id = :id").bind("id", quizId).map(row -> true).first()
+				.defaultIfEmpty(false);
+	}
+
+	/** The quiz's questions in quiz order. */
+	public Flux<Question> findQuizQuestions(int quizId) {
+		return db.sql("SELECT " + QUESTION_COLUMNS + " FROM quiz_question qq "
+				+ "JOIN question q ON q.id = qq.question_id "
+				+ "LEFT JOIN difficulty_level d ON d.id = q.difficulty_id "
+				+ "LEFT JOIN category c ON c.id = q.category_id "
+				+ "WHERE qq.quiz_id = :id ORDER BY qq.position")
+				.bind("id", quizId)
+				.map(row -> question(row, 0))
+				.all();
+	}
+
+	/** Media refs of the quiz's questions, per question id in attachment order. */
+	public Mono<Map<Integer, List<String>>> findQuizMedia(int quizId) {
+		return db.sql("SELECT m.question_id, m.ref FROM quiz_question qq "
+				+ "JOIN question_media m ON m.question_id = qq.question_id "
+				+ "WHERE qq.quiz_id = :id ORDER BY m.question_id, m.position")
+				.bind("id", quizId)
+				.map(row -> Map.entry(row.get(0, Integer.class), row.get(1, String.class)))
+				.all()
+				.collect(HashMap::new, (refs, e) -> refs.computeIfAbsent(e.getKey(), k -> new ArrayList<>())
+						.add(e.getValue()));
+	}
+
+	/** Every quiz with its questions, in one round trip. */
+	public Flux<Quiz> findAllQuizzes() {
+		return db.sql("SELECT z.id, z.title, " + QUESTION_COLUMNS + " FROM quiz z "
+				+ "LEFT JOIN quiz_question qq ON qq.quiz_id = z.id "
+				+ "LEFT JOIN question q ON q.id = qq.question_id "
+				+ "LEFT JOIN difficulty_level d ON d.id = q.difficulty_id "
+				+ "LEFT JOIN category c ON c.id = q.category_id "
+				+ "ORDER BY z.id, qq.position")
+				.map(row -> new QuizRow(row.get(0, Integer.class), row.get(1, String.class),
+						row.get(2, Integer.class) == null ? null : question(row, 2)))
+				.all()
+				.bufferUntilChanged(QuizRow::quizId)
+				.map(rows -> {
+					Quiz quiz = new Quiz();
+					quiz.setId(rows.get(0).quizId());
+					quiz.setTitle(rows.get(0).title());
+					List<Question> questions = new ArrayList<>(rows.size());
+					for (QuizRow r : rows) {
+						if (r.question() != null) {
+							questions.add(r.question());
+						}
+					}
+					quiz.setQuestions(questions);
+					return quiz;
+				});
+	}
+
+	private static Question question(Readable row, int offset) {
+		Question q = new Question();
+		q.setId(row.get(offset, Integer.class));
+		q.setQuestion_title(row.get(offset + 1, String.class));
+		q.setOption1(row.get(offset + 2, String.class));
+		q.setOption2(row.get(offset + 3, String.class));
+		q.setOption3(row.get(offset + 4, String.class));
+		q.setOption4(row.get(offset + 5, String.class));
+		q.setRight_answer(row.get(offset + 6, String.class));
+		q.setDifficultylevel(row.get(offset + 7, String.class));
+		q.setCategory(row.get(offset + 8, String.class));
+		return q;
+	}
+}
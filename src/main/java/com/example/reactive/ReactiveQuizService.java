@@ -0,0 +1,98 @@
+package com.example.reactive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.Model.QuestionWrapper;
+import com.example.demo.Model.Quiz;
+import com.example.demo.Model.QuizResult;
+import com.example.demo.Model.QuizSnapshot;
+import com.example.demo.Model.Response;
+import com.example.demo.Service.IdempotencyCache;
+import com.example.demo.Service.QuizShuffler;
+import com.example.demo.Service.QuizSnapshotCodec;
+
+import jakarta.annotation.PostConstruct;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same results as {@code QuizService} for the candidate operations. Decoding
+ * a snapshot and shuffling are a few microseconds of CPU, so they run on the
+ * event loop; only database access is asynchronous.
+ */
+@Service
+public class ReactiveQuizService {
+
+	@Autowired
+	ReactiveQuizRepository repository;
+	@Autowired
+	QuizShuffler shuffler;
+	@Value("${quiz.idempotency.max-entries:100000}")
+	int idempotencyMaxEntries;
+	@Value("${quiz.idempotency.ttl-ms:3600000}")
+	long idempotencyTtlMs;
+
+	private IdempotencyCache<ResponseEntity<QuizResult>> submissions;
+
+	@PostConstruct
+	void init() {
+		// only scored submissions are replayed; a 404 or 400 is recomputed on retry
+		submissions = new IdempotencyCache<>(idempotencyMaxEntries, idempotencyTtlMs,
+				result -> result.getStatusCode().is2xxSuccessful());
+	}
+
+	public Mono<ResponseEntity<List<QuestionWrapper>>> getQuizQuestions(int id, String username) {
+		return findSnapshot(id)
+				.map(snapshot -> new ResponseEntity<>(
+						shuffler.shuffle(QuizSnapshotCodec.readQuestions(snapshot), username, id), HttpStatus.OK))
+				.defaultIfEmpty(new ResponseEntity<>(new ArrayList<>(), HttpStatus.NOT_FOUND));
+	}
+
+	public Mono<ResponseEntity<QuizResult>> submit(int id, List<Response> responses, String username,
+			String idempotencyKey) {
+		if (idempotencyKey == null) {
+			return calculateResult(id, responses);
+		}
+		if (idempotencyKey.isBlank() || idempotencyKey.length() > 255) {
+			return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+		}
+		return Mono.fromFuture(() -> submissions.get(username + '\n' + id + '\n' + idempotencyKey,
+				Response.digest(responses), () -> calculateResult(id, responses).toFuture()))
+				.onErrorResume(IdempotencyCache.KeyReuseException.class,
+						e -> Mono.just(new ResponseEntity<>(HttpStatus.UNPROCESSABLE_ENTITY)));
+	}
+
+	// This node hears no quiz change events, so answer keys are compiled per submission instead of cached
+	public Mono<ResponseEntity<QuizResult>> calculateResult(int id, List<Response> responses) {
+		return findSnapshot(id)
+				.map(snapshot -> {
+					QuizResult result = QuizSnapshotCodec.readAnswerKey(snapshot).score(responses);
+					return result == null ? new ResponseEntity<QuizResult>(HttpStatus.BAD_REQUEST)
+							: new ResponseEntity<>(result, HttpStatus.OK);
+				})
+				.defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+	}
+
+	public Mono<ResponseEntity<List<Quiz>>> getAllQuizzes() {
+		return repository.findAllQuizzes()
+				.collectList()
+				.map(quizzes -> new ResponseEntity<>(quizzes, HttpStatus.OK));
+	}
+
+	// Quizzes created before snapshots existed are frozen on their first read.
+	private Mono<QuizSnapshot> findSnapshot(int id) {
+		return repository.findSnapshot(id)
+				.switchIfEmpty(Mono.defer(() -> repository.quizExists(id)
+						.filter(Boolean::booleanValue)
+						.flatMap(exists -> Mono.zip(repository.findQuizQuestions(id).collectList(),
+								repository.findQuizMedia(id)))
+						.map(loaded -> QuizSnapshotCodec.freeze(id, loaded.getT1(), loaded.getT2()))
+						.flatMap(snapshot -> repository.insertSnapshot(snapshot).thenReturn(snapshot))));
+	}
+}
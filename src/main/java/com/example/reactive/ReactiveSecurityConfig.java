@@ -0,0 +1,46 @@
+package com.example.reactive;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Stateless bearer-token security for the reactive candidate API, mirroring
+ * the servlet {@code SecurityConfig}: {@code /user/**} needs role USER or
+ * ADMIN and everything else needs an authenticated caller.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtAuthenticationManager manager) {
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(manager);
+        jwtFilter.setServerAuthenticationConverter(exchange -> Mono
+                .justOrEmpty(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
+                .filter(header -> header.startsWith("Bearer "))
+                .map(header -> new JwtAuthenticationManager.BearerToken(header.substring(7))));
+        jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        return http
+            .csrf(csrf -> csrf.disable())
+            .httpBasic(basic -> basic.disable())
+            .formLogin(form -> form.disable())
+            .logout(logout -> logout.disable())
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+            .authorizeExchange(auth -> auth
+                .pathMatchers("/user/**").hasAnyRole("USER", "ADMIN")
+                .anyExchange().authenticated()
+            )
+            .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.reactive;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.security.jwt.RevocationSet;
+import com.example.demo.security.model.RevokedToken;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only view of {@code revoked_tokens} for the reactive API. Revocations
+ * are written by the servlet application, which also purges expired rows;
+ * this side reloads unexpired rows every {@code jwt.denylist.refresh-ms} and
+ * checks tokens against the same {@link RevocationSet} filter.
+ */
+@Component
+public class ReactiveTokenDenylist {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTokenDenylist.class);
+
+    private final DatabaseClient db;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final long refreshMs;
+    private volatile RevocationSet state;
+    private Disposable refresher;
+
+    public ReactiveTokenDenylist(DatabaseClient db,
+                                 @Value("${jwt.denylist.expected-entries:100000}") int expectedEntries,
+                                 @Value("${jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate,
+                                 @Value("${jwt.denylist.refresh-ms:30000}") long refreshMs) {
+        this.db = db;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshMs = refreshMs;
+        this.state = RevocationSet.empty(expectedEntries, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void start() {
+        // load once before serving so a restart never accepts revoked tokens
+        try {
+            state = load().block(Duration.ofSeconds(10));
+        } catch (RuntimeException e) {
+            log.warn("Could not load token denylist", e);
+        }
+        refresher = Flux.interval(Duration.ofMillis(refreshMs))
+            .concatMap(tick -> load().onErrorResume(e -> {
+                log.warn("Could not refresh token denylist", e);
+                return Mono.empty();
+            }))
+            .subscribe(set -> state = set);
+    }
+
+    public boolean isRevoked(String jti, String username, long issuedAtMs) {
+        return state.isRevoked(jti, username, issuedAtMs);
+    }
+
+    private Mono<RevocationSet> load() {
+        return db.sql("SELECT revoked_key, kind, issued_before, expires_at FROM revoked_tokens WHERE expires_at > :now")
+            .bind("now", System.currentTimeMillis())
+            .map(row -> new RevokedToken(row.get(0, String.class), RevokedToken.Kind.valueOf(row.get(1, String.class)),
+                    row.get(2, Long.class), row.get(3, Long.class)))
+            .all()
+            .collectList()
+            .map(rows -> RevocationSet.of(rows, expectedEntries, falsePositiveRate));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+}
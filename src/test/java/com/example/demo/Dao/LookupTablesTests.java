@@ -0,0 +1,93 @@
+package com.example.demo.Dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LookupTablesTests {
+
+	@Autowired
+	MockMvc mockMvc;
+	@Autowired
+	JdbcTemplate jdbc;
+	@Autowired
+	QuestionDao questionDao;
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void readsNeverCreateLookupRows() throws Exception {
+		long categories = count("category");
+		long difficulties = count("difficulty_level") + (exists("difficulty_level", "hard") ? 0 : 1);
+
+		mockMvc.perform(get("/user/question/category/never-created")).andExpect(status().isOk())
+				.andExpect(content().json("[]"));
+		mockMvc.perform(put("/admin/question/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"fromCategory\":\"nor-this\",\"difficultylevel\":\"hard\"}"))
+				.andExpect(status().isOk()).andExpect(content().json("{\"affected\":0,\"skipped\":0}"));
+
+		assertEquals(categories, count("category"));
+		// the bulk update's new value is created, and only that
+		assertEquals(difficulties, count("difficulty_level"));
+		assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM category WHERE name IN ('never-created', 'nor-this')",
+				Long.class));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void writesCreateLookupRows() throws Exception {
+		mockMvc.perform(post("/admin/question/addQuestions").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"question_title\":\"t\",\"option1\":\"a\",\"right_answer\":\"a\","
+						+ "\"category\":\"created-by-add\",\"difficultylevel\":\"created-by-add\"}"))
+				.andExpect(status().isCreated());
+		int id = questionDao.findByCategory("created-by-add").get(0).getId();
+		mockMvc.perform(put("/admin/question/update/" + id).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"question_title\":\"t\",\"option1\":\"a\",\"right_answer\":\"a\","
+						+ "\"category\":\"created-by-update\",\"difficultylevel\":\"created-by-add\"}"))
+				.andExpect(status().isOk());
+		assertEquals("created-by-update", questionDao.findById(id).orElseThrow().getCategory());
+		assertEquals("created-by-add", questionDao.findById(id).orElseThrow().getDifficultylevel());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void overlongNamesAreRejected() throws Exception {
+		String name = "x".repeat(LookupTables.MAX_NAME_LENGTH + 1);
+		mockMvc.perform(post("/admin/question/addQuestions").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"question_title\":\"t\",\"option1\":\"a\",\"right_answer\":\"a\",\"category\":\"" + name
+						+ "\"}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(put("/admin/question/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"fromCategory\":\"java\",\"category\":\"" + name + "\"}"))
+				.andExpect(status().isBadRequest());
+		// the longest legal name fits the column
+		String longest = "y".repeat(LookupTables.MAX_NAME_LENGTH);
+		mockMvc.perform(post("/admin/question/addQuestions").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"question_title\":\"t\",\"option1\":\"a\",\"right_answer\":\"a\",\"category\":\"" + longest
+						+ "\"}"))
+				.andExpect(status().isCreated());
+	}
+
+	private long count(String table) {
+		return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+	}
+
+	private boolean exists(String table, String name) {
+		return jdbc.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE name = ?", Long.class, name) > 0;
+	}
+}
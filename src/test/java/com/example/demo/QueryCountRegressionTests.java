@@ -0,0 +1,446 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuestionMediaDao;
+import com.example.demo.Dao.QuizDao;
+import com.example.demo.Dao.QuizSnapshotDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionMedia;
+import com.example.demo.Service.QuizService;
+import com.example.demo.security.repo.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+/**
+ * Pins the exact number of JDBC statements every endpoint issues against a
+ * fixture of {@value #QUESTIONS} questions and {@value #QUIZZES} quizzes, so
+ * an N+1 or an accidental extra round trip fails the build. When a change
+ * legitimately alters a count, update the expectation in the same commit.
+ * The second-level cache is emptied after seeding, so counts are cold-cache
+ * counts.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryCountRegressionTests {
+
+	private static final int QUESTIONS = 6;
+	private static final int QUIZZES = 3;
+	private static final int QUIZ_SIZE = 4;
+
+	@Autowired
+	MockMvc mockMvc;
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	@Autowired
+	QuestionDao questionDao;
+	@Autowired
+	QuizDao quizDao;
+	@Autowired
+	QuizSnapshotDao snapshotDao;
+	@Autowired
+	UserRepository userRepository;
+	@Autowired
+	QuestionMediaDao mediaDao;
+	@Autowired
+	QuizService quizService;
+
+	List<Integer> questionIds;
+	List<Integer> quizIds;
+
+	@BeforeEach
+	void seed() {
+		quizDao.deleteAll();
+		snapshotDao.deleteAll();
+		mediaDao.deleteAll();
+		questionDao.deleteAll();
+		userRepository.deleteAll();
+		questionIds = new ArrayList<>();
+		for (int i = 0; i < QUESTIONS; i++) {
+			questionIds.add(questionDao.save(question("java", "Question " + i)).getId());
+		}
+		for (int i = 0; i < QUIZZES; i++) {
+			quizService.createQuize("java", QUIZ_SIZE, "Quiz " + i);
+		}
+		quizIds = quizDao.findAll().stream().map(q -> q.getId()).toList();
+		// pin the cold path; SecondLevelCacheTests covers the warm one
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	// QuestionController
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminAllQuestions() throws Exception {
+		assertStatements(1, get("/admin/question/allQuestions"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminCategories() throws Exception {
+		assertStatements(1, get("/admin/question/categories"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminByCategory() throws Exception {
+		assertStatements(1, get("/admin/question/category/java"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminById() throws Exception {
+		assertStatements(1, get("/admin/question/id/" + questionIds.get(0)));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminAddQuestion() throws Exception {
+		assertStatements(1, post("/admin/question/addQuestions").contentType(MediaType.APPLICATION_JSON)
+				.content(QUESTION_JSON));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminUpdateQuestion() throws Exception {
+		assertStatements(3, put("/admin/question/update/" + questionIds.get(0))
+				.contentType(MediaType.APPLICATION_JSON).content(QUESTION_JSON));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminDeleteQuestion() throws Exception {
+		int unused = questionDao.save(question("unused", "Not in any quiz")).getId();
+		// guarded delete, delete its media refs
+		assertStatements(2, delete("/admin/question/delete/" + unused));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminDeleteQuestions() throws Exception {
+		int unused1 = questionDao.save(question("unused", "Not in any quiz")).getId();
+		int unused2 = questionDao.save(question("unused", "Nor this one")).getId();
+		int used = quizDao.findAll().get(0).getQuestions().get(0).getId();
+		// guarded delete, orphaned media refs; used and unknown ids are skipped
+		MvcResult result = assertStatements(2, post("/admin/question/delete").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + unused1 + "," + unused2 + "," + used + ",999999]"));
+		assertEquals("{\"affected\":2,\"skipped\":2}", result.getResponse().getContentAsString());
+		assertTrue(questionDao.existsById(used));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminDeleteByCategory() throws Exception {
+		questionDao.save(question("retired", "Old 1"));
+		questionDao.save(question("retired", "Old 2"));
+		// guarded delete, orphaned media refs, count of what is left in use
+		MvcResult result = assertStatements(3, delete("/admin/question/delete/category/retired"));
+		assertEquals("{\"affected\":2,\"skipped\":0}", result.getResponse().getContentAsString());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminBulkUpdate() throws Exception {
+		// one UPDATE per changed column, whatever the number of rows, plus select/insert/select of the new category name
+		MvcResult result = assertStatements(2 + 3, put("/admin/question/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"fromCategory\":\"java\",\"category\":\"jvm\",\"difficultylevel\":\"easy\"}"));
+		assertEquals("{\"affected\":" + QUESTIONS + ",\"skipped\":0}", result.getResponse().getContentAsString());
+		assertEquals(QUESTIONS, questionDao.findByCategory("jvm").size());
+		mockMvc.perform(put("/admin/question/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\":[1],\"fromCategory\":\"jvm\",\"category\":\"java\"}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	// UserQuestionController
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void userAllQuestions() throws Exception {
+		assertStatements(1, get("/user/question/allQuestions"));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void userByCategory() throws Exception {
+		assertStatements(1, get("/user/question/category/java"));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void userById() throws Exception {
+		assertStatements(1, get("/user/question/id/" + questionIds.get(0)));
+	}
+
+	// QuizController
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void getQuiz() throws Exception {
+		assertStatements(1, get("/user/quiz/get/" + quizIds.get(0)));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void submitQuiz() throws Exception {
+		List<Integer> ids = quizDao.findAll().get(0).getQuestions().stream().map(Question::getId).toList();
+		int quizId = quizDao.findAll().get(0).getId();
+		// out of order and partial: the last question is left out
+		String answers = "[{\"id\":" + ids.get(1) + ",\"response\":\"a\"},{\"id\":" + ids.get(0)
+				+ ",\"response\":\"b\"}]";
+		// snapshot read, then the compiled answer key is cached
+		MvcResult result = assertStatements(1, post("/user/quiz/submit/" + quizId)
+				.contentType(MediaType.APPLICATION_JSON).content(answers));
+		assertEquals("{\"score\":1,\"answered\":2,\"total\":" + QUIZ_SIZE + ",\"questions\":[{\"id\":" + ids.get(0)
+				+ ",\"answered\":true,\"correct\":false},{\"id\":" + ids.get(1)
+				+ ",\"answered\":true,\"correct\":true},{\"id\":" + ids.get(2)
+				+ ",\"answered\":false,\"correct\":false},{\"id\":" + ids.get(3)
+				+ ",\"answered\":false,\"correct\":false}]}", result.getResponse().getContentAsString());
+		assertStatements(0, post("/user/quiz/submit/" + quizId).contentType(MediaType.APPLICATION_JSON).content(answers));
+
+		// foreign, duplicate and missing ids are rejected without touching the database
+		int foreign = questionIds.stream().filter(q -> !ids.contains(q)).findFirst().orElse(999999);
+		for (String bad : List.of("[{\"id\":" + foreign + ",\"response\":\"a\"}]",
+				"[{\"id\":" + ids.get(0) + ",\"response\":\"a\"},{\"id\":" + ids.get(0) + ",\"response\":\"a\"}]",
+				"[{\"response\":\"a\"}]")) {
+			QueryCountHolder.clear();
+			mockMvc.perform(post("/user/quiz/submit/" + quizId).contentType(MediaType.APPLICATION_JSON).content(bad))
+					.andExpect(status().isBadRequest());
+			assertEquals(0, QueryCountHolder.getGrandTotal().getTotal(), bad);
+		}
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void submitQuizIdempotently() throws Exception {
+		int questionId = quizDao.findAll().stream().filter(q -> q.getId() == quizIds.get(0)).findFirst().orElseThrow()
+				.getQuestions().get(0).getId();
+		String answers = "[{\"id\":" + questionId + ",\"response\":\"a\"}]";
+		assertStatements(1, post("/user/quiz/submit/" + quizIds.get(0)).header("Idempotency-Key", "k1")
+				.contentType(MediaType.APPLICATION_JSON).content(answers));
+		// a retry is answered from the idempotency cache
+		assertStatements(0, post("/user/quiz/submit/" + quizIds.get(0)).header("Idempotency-Key", "k1")
+				.contentType(MediaType.APPLICATION_JSON).content(answers));
+		mockMvc.perform(post("/user/quiz/submit/" + quizIds.get(0)).header("Idempotency-Key", "k1")
+				.contentType(MediaType.APPLICATION_JSON).content("[{\"id\":" + questionId + ",\"response\":\"b\"}]"))
+				.andExpect(status().isUnprocessableEntity());
+		// rejected submissions are not kept: the corrected retry is scored under the same key
+		mockMvc.perform(post("/user/quiz/submit/" + quizIds.get(0)).header("Idempotency-Key", "k2")
+				.contentType(MediaType.APPLICATION_JSON).content("[{\"id\":999999,\"response\":\"a\"}]"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/user/quiz/submit/" + quizIds.get(0)).header("Idempotency-Key", "k2")
+				.contentType(MediaType.APPLICATION_JSON).content(answers)).andExpect(status().isOk());
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void allQuizzes() throws Exception {
+		assertStatements(1, get("/user/quiz/all"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void createQuiz() throws Exception {
+		// random pick, quiz insert, one insert per join row, media refs, snapshot merge select + insert
+		assertStatements(5 + QUIZ_SIZE, post("/admin/quiz/create").param("category", "java")
+				.param("numQ", String.valueOf(QUIZ_SIZE)).param("title", "New"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void deleteQuiz() throws Exception {
+		// join rows, quiz, snapshot
+		assertStatements(3, delete("/admin/quiz/delete/" + quizIds.get(0)));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void deleteQuizzes() throws Exception {
+		MvcResult result = assertStatements(3, post("/admin/quiz/delete").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + quizIds.get(0) + "," + quizIds.get(1) + ",999999]"));
+		assertEquals("{\"affected\":2,\"skipped\":1}", result.getResponse().getContentAsString());
+		assertEquals(1, quizDao.count());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void deleteAllQuizzes() throws Exception {
+		// join rows, quizzes, snapshots, independent of the number of quizzes
+		assertStatements(3, delete("/admin/quiz/delete/all"));
+		assertEquals(0, quizDao.count());
+	}
+
+	// PracticeController
+
+	@Test
+	@WithMockUser(username = "practice", roles = "USER")
+	void practiceNext() throws Exception {
+		// first request loads the user's seen set and the category ring, then the question and its media
+		assertStatements(4, get("/user/practice/java/next"));
+		// afterwards only the question and its media are read
+		assertStatements(2, get("/user/practice/java/next"));
+		for (int i = 2; i < QUESTIONS; i++) {
+			mockMvc.perform(get("/user/practice/java/next")).andExpect(status().isOk());
+		}
+		mockMvc.perform(get("/user/practice/java/next")).andExpect(status().isNoContent());
+		mockMvc.perform(get("/user/practice/none/next")).andExpect(status().isNotFound());
+	}
+
+	// MediaController
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void uploadAndServeMedia() throws Exception {
+		byte[] png = new byte[10_000];
+		new Random(1).nextBytes(png);
+		// exists check, next position, insert
+		String ref = assertStatements(3, post("/admin/question/" + questionIds.get(0) + "/media")
+				.contentType(MediaType.IMAGE_PNG).content(png)).getResponse().getContentAsString();
+		String etag = "\"" + ref.substring(0, 64) + "\"";
+
+		// serving never touches the database
+		MvcResult full = assertStatements(0, get("/user/media/" + ref));
+		assertArrayEquals(png, full.getResponse().getContentAsByteArray());
+		assertEquals(etag, full.getResponse().getHeader("ETag"));
+		assertEquals("image/png", full.getResponse().getContentType());
+
+		MvcResult part = mockMvc.perform(get("/user/media/" + ref).header("Range", "bytes=100-199"))
+				.andExpect(status().isPartialContent()).andReturn();
+		assertArrayEquals(Arrays.copyOfRange(png, 100, 200), part.getResponse().getContentAsByteArray());
+		assertEquals("bytes 100-199/10000", part.getResponse().getHeader("Content-Range"));
+		mockMvc.perform(get("/user/media/" + ref).header("Range", "bytes=20000-"))
+				.andExpect(status().isRequestedRangeNotSatisfiable());
+		mockMvc.perform(get("/user/media/" + ref).header("If-None-Match", etag)).andExpect(status().isNotModified());
+
+		// new quizzes carry the ref in the question wrapper
+		quizService.createQuize("java", QUESTIONS, "With media");
+		int quizId = quizDao.findAll().stream().mapToInt(q -> q.getId()).max().getAsInt();
+		String questions = mockMvc.perform(get("/user/quiz/get/" + quizId)).andReturn().getResponse()
+				.getContentAsString();
+		assertTrue(questions.contains(ref));
+	}
+
+	// QuestionBankController
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void exportAndRestoreBank() throws Exception {
+		long links = QUIZZES * QUIZ_SIZE;
+		QuestionMedia media = new QuestionMedia();
+		media.setQuestionId(questionIds.get(0));
+		media.setRef("0".repeat(64) + ".png");
+		mediaDao.save(media);
+		assertStatements(4, post("/admin/bank/export").param("file", "bank.bin"));
+		// five table clears, one batch per table, identity max + restart for two tables
+		assertStatements(5 + 4 + 2 * 2, post("/admin/bank/restore").param("file", "bank.bin"));
+		assertEquals(QUESTIONS, questionDao.count());
+		assertEquals(links, quizDao.findAll().stream().mapToLong(q -> q.getQuestions().size()).sum());
+		// restored quizzes are re-frozen on first read: snapshot miss, questions, media, merge select + insert;
+		// the quiz itself comes from the second-level cache, filled by the check above
+		assertStatements(5, get("/user/quiz/get/" + quizIds.get(0)));
+	}
+
+	// AuthController
+
+	@Test
+	void register() throws Exception {
+		assertStatements(4, post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"alice\",\"password\":\"secret\"}"));
+	}
+
+	@Test
+	void login() throws Exception {
+		mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"bob\",\"password\":\"secret\"}"));
+		// authentication and token generation each load the user with its roles
+		assertStatements(3, post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"bob\",\"password\":\"secret\"}"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void registerAdmin() throws Exception {
+		assertStatements(4, post("/auth/admin/register").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"carol\",\"password\":\"secret\",\"role\":\"ADMIN\"}"));
+	}
+
+	@Test
+	void logout() throws Exception {
+		mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"dave\",\"password\":\"secret\"}"));
+		String body = mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"dave\",\"password\":\"secret\"}")).andReturn().getResponse()
+				.getContentAsString();
+		String token = body.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+		// the denylist check is DB-free; the filter loads the user and roles, revoking is a merge
+		assertStatements(2 + 2, post("/auth/logout").header("Authorization", "Bearer " + token));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void revokeUser() throws Exception {
+		assertStatements(2, post("/auth/admin/revoke").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"erin\"}"));
+	}
+
+	private MvcResult assertStatements(long expected, RequestBuilder request) throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		QueryCountHolder.clear();
+		MvcResult result = mockMvc.perform(request).andExpect(status().is2xxSuccessful()).andReturn();
+		QueryCount count = QueryCountHolder.getGrandTotal();
+		assertEquals(expected, count.getTotal(), () -> String.format(
+				"statements: select=%d insert=%d update=%d delete=%d other=%d; "
+						+ "hibernate: entities loaded=%d fetched=%d, collections fetched=%d",
+				count.getSelect(), count.getInsert(), count.getUpdate(), count.getDelete(), count.getOther(),
+				statistics.getEntityLoadCount(), statistics.getEntityFetchCount(),
+				statistics.getCollectionFetchCount()));
+		return result;
+	}
+
+	private static Question question(String category, String title) {
+		Question q = new Question();
+		q.setQuestion_title(title);
+		q.setOption1("a");
+		q.setOption2("b");
+		q.setOption3("c");
+		q.setOption4("d");
+		q.setRight_answer("a");
+		q.setDifficultylevel("easy");
+		q.setCategory(category);
+		return q;
+	}
+
+	private static final String QUESTION_JSON = """
+			{"question_title":"t","option1":"a","option2":"b","option3":"c","option4":"d",
+			 "right_answer":"a","difficultylevel":"easy","category":"java"}""";
+}
@@ -0,0 +1,244 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.cache.CacheManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuestionMediaDao;
+import com.example.demo.Dao.QuizDao;
+import com.example.demo.Dao.QuizSnapshotDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Service.QuizService;
+import com.example.demo.events.ChangeEvent;
+import com.example.demo.events.ChangeEvent.Action;
+import com.example.demo.events.ChangeEvent.Entity;
+import com.example.demo.events.ChangeEventTransport;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+/**
+ * Round trips per endpoint with an empty and with a warm second-level cache,
+ * and the invalidation paths that keep cached questions and quizzes current.
+ * Each request is run once before it is measured, so application-level caches
+ * (practice rings, seen sets) are warm in both columns.
+ */
+@SpringBootTest(properties = "quiz.cache.question.max-entries=" + SecondLevelCacheTests.MAX_QUESTIONS)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheTests {
+
+	static final int MAX_QUESTIONS = 16;
+	private static final int QUESTIONS = 6;
+	private static final int QUIZ_SIZE = 4;
+
+	@Autowired
+	MockMvc mockMvc;
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	@Autowired
+	JdbcTemplate jdbc;
+	@Autowired
+	QuestionDao questionDao;
+	@Autowired
+	QuizDao quizDao;
+	@Autowired
+	QuizSnapshotDao snapshotDao;
+	@Autowired
+	QuestionMediaDao mediaDao;
+	@Autowired
+	QuizService quizService;
+	@Autowired
+	ChangeEventTransport transport;
+	@Autowired
+	MeterRegistry registry;
+	@Autowired
+	CacheManager secondLevelCacheManager;
+
+	List<Integer> questionIds;
+	int quizId;
+
+	@BeforeEach
+	void seed() {
+		quizDao.deleteAll();
+		snapshotDao.deleteAll();
+		mediaDao.deleteAll();
+		questionDao.deleteAll();
+		questionIds = new ArrayList<>();
+		for (int i = 0; i < QUESTIONS; i++) {
+			questionIds.add(questionDao.save(question("Question " + i)).getId());
+		}
+		quizService.createQuize("cached", QUIZ_SIZE, "Cached");
+		quizId = quizDao.findAll().get(0).getId();
+	}
+
+	@Test
+	@WithMockUser(username = "cached", roles = "ADMIN")
+	void roundTripsSavedPerEndpoint() throws Exception {
+		int id = questionIds.get(0);
+		String body = "{\"question_title\":\"t\",\"option1\":\"a\",\"right_answer\":\"a\",\"category\":\"cached\"}";
+		// endpoint, statements with an empty cache, statements with a warm cache
+		assertSaved("GET user/question/id", get("/user/question/id/" + id), false, 1, 0);
+		// exists check and merge select (the warm-up already applied the body, so nothing is dirty)
+		assertSaved("PUT admin/question/update", put("/admin/question/update/" + id)
+				.contentType(MediaType.APPLICATION_JSON).content(body), false, 2, 1);
+		// the ring is built; the question is cached, its media refs are not
+		assertSaved("GET user/practice/next", get("/user/practice/cached/next"), false, 2, 1);
+		// snapshot miss, quiz, its questions (one join, not cached), media, snapshot merge select + insert
+		assertSaved("GET user/quiz/get (freeze)", get("/user/quiz/get/" + quizId), true, 6, 5);
+		// frozen quizzes never reach the entity tables
+		assertSaved("GET user/quiz/get (frozen)", get("/user/quiz/get/" + quizId), false, 1, 1);
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void updatesAndDeletesAreVisible() throws Exception {
+		int id = questionIds.get(0);
+		mockMvc.perform(get("/admin/question/id/" + id)).andExpect(status().isOk());
+
+		mockMvc.perform(put("/admin/question/update/" + id).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"question_title\":\"Edited\",\"option1\":\"a\",\"right_answer\":\"a\",\"category\":\"cached\"}"))
+				.andExpect(status().isOk());
+		assertTitle(id, "Edited", 0);
+
+		// JPQL bulk update evicts the region
+		mockMvc.perform(put("/admin/question/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"fromCategory\":\"cached\",\"difficultylevel\":\"hard\"}")).andExpect(status().isOk());
+		QueryCountHolder.clear();
+		String json = mockMvc.perform(get("/admin/question/id/" + id)).andReturn().getResponse().getContentAsString();
+		assertTrue(json.contains("\"difficultylevel\":\"hard\""), json);
+		assertEquals(1, QueryCountHolder.getGrandTotal().getTotal());
+
+		int unused = questionDao.save(question("Unused")).getId();
+		mockMvc.perform(get("/admin/question/id/" + unused)).andExpect(status().isOk());
+		mockMvc.perform(delete("/admin/question/delete/" + unused)).andExpect(status().isOk());
+		// a missing question is an empty Optional, rendered as null
+		assertEquals("null", mockMvc.perform(get("/admin/question/id/" + unused)).andReturn().getResponse()
+				.getContentAsString());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void otherNodesWritesEvictOnTheirEvent() throws Exception {
+		int id = questionIds.get(0);
+		emptyCache();
+		assertTitle(id, "Question 0", 1);
+		// another node updates the row; until its event arrives this node serves the cached copy
+		jdbc.update("UPDATE question SET question_title = 'Remote' WHERE id = ?", id);
+		assertTitle(id, "Question 0", 0);
+		transport.send(new ChangeEvent("other-node", Entity.QUESTION, Action.UPDATED, id, System.currentTimeMillis()));
+		assertTitle(id, "Remote", 1);
+
+		// a quiz deleted elsewhere
+		prime();
+		jdbc.update("DELETE FROM quiz_question WHERE quiz_id = ?", quizId);
+		jdbc.update("DELETE FROM quiz WHERE id = ?", quizId);
+		transport.send(new ChangeEvent("other-node", Entity.QUIZ, Action.DELETED, quizId, System.currentTimeMillis()));
+		assertTrue(quizDao.findById(quizId).isEmpty());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void hitRatioIsPublished() throws Exception {
+		int id = questionIds.get(0);
+		emptyCache();
+		for (int i = 0; i < 4; i++) {
+			mockMvc.perform(get("/admin/question/id/" + id)).andExpect(status().isOk());
+		}
+		assertTrue(registry.get("cache.hit.ratio").tag("cache", "question").gauge().value() > 0);
+		assertTrue(registry.get("cache.gets").tag("cache", "question").tag("result", "hit").functionCounter()
+				.count() >= 3);
+		assertTrue(registry.get("cache.size").tag("cache", "quiz").gauge().value() >= 0);
+	}
+
+	@Test
+	void regionsAreBounded() {
+		for (int i = 0; i < 3 * MAX_QUESTIONS; i++) {
+			questionDao.save(question("Extra " + i));
+		}
+		questionDao.findAll();
+		Cache<?, ?> region = secondLevelCacheManager.getCache("question").unwrap(Cache.class);
+		region.cleanUp();
+		assertTrue(region.estimatedSize() <= MAX_QUESTIONS, () -> region.estimatedSize() + " entries");
+	}
+
+	private void assertSaved(String endpoint, RequestBuilder request, boolean dropSnapshot, long cold, long warm)
+			throws Exception {
+		mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+		long[] counts = new long[2];
+		for (int warmCache = 0; warmCache < 2; warmCache++) {
+			if (dropSnapshot) {
+				snapshotDao.deleteById(quizId);
+			}
+			if (warmCache == 0) {
+				emptyCache();
+			} else {
+				prime();
+			}
+			QueryCountHolder.clear();
+			mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+			counts[warmCache] = QueryCountHolder.getGrandTotal().getTotal();
+		}
+		System.out.printf("%-28s cold=%d warm=%d saved=%d%n", endpoint, counts[0], counts[1], counts[0] - counts[1]);
+		assertEquals(cold, counts[0], endpoint + " (cold)");
+		assertEquals(warm, counts[1], endpoint + " (warm)");
+	}
+
+	private void emptyCache() {
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	// loads every question and quiz once, which puts them in the cache
+	private void prime() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			questionDao.findAll();
+			quizDao.findAll().forEach(q -> q.getQuestions().size());
+		});
+	}
+
+	private void assertTitle(int id, String title, long statements) throws Exception {
+		QueryCountHolder.clear();
+		String json = mockMvc.perform(get("/admin/question/id/" + id)).andReturn().getResponse().getContentAsString();
+		assertTrue(json.contains("\"question_title\":\"" + title + "\""), json);
+		assertEquals(statements, QueryCountHolder.getGrandTotal().getTotal());
+	}
+
+	private static Question question(String title) {
+		Question q = new Question();
+		q.setQuestion_title(title);
+		q.setOption1("a");
+		q.setOption2("b");
+		q.setRight_answer("a");
+		q.setDifficultylevel("easy");
+		q.setCategory("cached");
+		return q;
+	}
+}
@@ -0,0 +1,74 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.Model.QuizResult;
+import com.example.demo.Model.Response;
+
+class AnswerKeyTests {
+
+	@Test
+	void mapFindsEveryKeyAndNothingElse() {
+		Random random = new Random(7);
+		int[] keys = random.ints(5000, 1, Integer.MAX_VALUE).distinct().toArray();
+		IntIntHashMap map = new IntIntHashMap(keys.length);
+		for (int i = 0; i < keys.length; i++) {
+			assertTrue(map.put(keys[i], i));
+		}
+		assertFalse(map.put(keys[0], 99));
+		for (int i = 0; i < keys.length; i++) {
+			assertEquals(i, map.get(keys[i]));
+		}
+		int[] sorted = keys.clone();
+		Arrays.sort(sorted);
+		for (int probe = -5; probe < 50_000; probe++) {
+			if (Arrays.binarySearch(sorted, probe) < 0) {
+				assertEquals(-1, map.get(probe));
+			}
+		}
+	}
+
+	@Test
+	void scoresByIdInAnyOrder() {
+		QuizSnapshotCodec.AnswerKey key = new QuizSnapshotCodec.AnswerKey(new int[] { 11, 42, 7 },
+				new String[] { "a", "b", "c" });
+		QuizResult result = key.score(List.of(response(7, "c"), response(11, "x")));
+		assertEquals(1, result.score());
+		assertEquals(2, result.answered());
+		assertEquals(3, result.total());
+		assertEquals(List.of(new QuizResult.QuestionResult(11, true, false),
+				new QuizResult.QuestionResult(42, false, false), new QuizResult.QuestionResult(7, true, true)),
+				result.questions());
+		assertEquals(0, key.score(List.of()).answered());
+	}
+
+	@Test
+	void rejectsForeignDuplicateAndSurplusResponses() {
+		QuizSnapshotCodec.AnswerKey key = new QuizSnapshotCodec.AnswerKey(new int[] { 11, 42 },
+				new String[] { "a", "b" });
+		assertNull(key.score(List.of(response(12, "a"))));
+		assertNull(key.score(List.of(response(0, "a"))));
+		assertNull(key.score(List.of(response(11, "a"), response(11, "a"))));
+		assertNull(key.score(List.of(response(11, "a"), response(42, "b"), response(11, "a"))));
+		List<Response> withNull = new ArrayList<>();
+		withNull.add(null);
+		assertNull(key.score(withNull));
+	}
+
+	private static Response response(int id, String answer) {
+		Response r = new Response();
+		r.setId(id);
+		r.setResponse(answer);
+		return r;
+	}
+}
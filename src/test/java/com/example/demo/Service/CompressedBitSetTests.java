@@ -0,0 +1,66 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class CompressedBitSetTests {
+
+	@Test
+	void matchesBitSetAcrossArrayAndBitmapChunks() {
+		CompressedBitSet set = new CompressedBitSet();
+		BitSet expected = new BitSet();
+		SplittableRandom random = new SplittableRandom(42);
+		// chunk 0 goes dense (bitmap), chunk 3 stays sparse (array)
+		for (int i = 0; i < 20_000; i++) {
+			int value = i % 8 == 0 ? (3 << 16) + random.nextInt(1 << 16) : random.nextInt(1 << 16);
+			assertEquals(!expected.get(value), set.add(value));
+			expected.set(value);
+		}
+		CompressedBitSet copy = CompressedBitSet.fromBytes(set.toBytes());
+		for (int value = 0; value < 4 << 16; value++) {
+			assertEquals(expected.get(value), set.contains(value));
+			assertEquals(expected.get(value), copy.contains(value));
+		}
+		assertEquals(expected.cardinality(), set.cardinality());
+		assertEquals(expected.cardinality(), copy.cardinality());
+		assertFalse(set.contains(-1));
+	}
+
+	@Test
+	void addAllIsUnion() {
+		CompressedBitSet a = new CompressedBitSet();
+		CompressedBitSet b = new CompressedBitSet();
+		BitSet expected = new BitSet();
+		SplittableRandom random = new SplittableRandom(7);
+		for (int i = 0; i < 10_000; i++) {
+			int value = random.nextInt(3 << 16);
+			(i % 2 == 0 ? a : b).add(value);
+			expected.set(value);
+		}
+		// a dense chunk on one side only
+		for (int value = 5 << 16; value < (5 << 16) + 5000; value++) {
+			b.add(value);
+			expected.set(value);
+		}
+		long before = a.cardinality();
+		assertEquals(expected.cardinality() - before, a.addAll(b));
+		assertEquals(expected.cardinality(), a.cardinality());
+		for (int value = 0; value < 6 << 16; value++) {
+			assertEquals(expected.get(value), a.contains(value));
+		}
+	}
+
+	@Test
+	void emptyBlobIsEmptySet() {
+		CompressedBitSet set = CompressedBitSet.fromBytes(null);
+		assertEquals(0, set.cardinality());
+		assertTrue(set.add(Integer.MAX_VALUE));
+		assertTrue(CompressedBitSet.fromBytes(set.toBytes()).contains(Integer.MAX_VALUE));
+	}
+}
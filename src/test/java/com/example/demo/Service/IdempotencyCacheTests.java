@@ -0,0 +1,87 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class IdempotencyCacheTests {
+
+	private static final byte[] BODY = { 0 }, A = { 1 }, B = { 2 };
+
+	@Test
+	void concurrentDuplicatesRunOnce() throws Exception {
+		IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, 60_000);
+		AtomicInteger runs = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		List<Future<Integer>> results = new ArrayList<>();
+		try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < 32; i++) {
+				results.add(pool.submit(() -> cache.get("k", BODY, () -> CompletableFuture.supplyAsync(() -> {
+					runs.incrementAndGet();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return 7;
+				})).join()));
+			}
+			release.countDown();
+			for (Future<Integer> result : results) {
+				assertEquals(7, result.get());
+			}
+		}
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	void rejectsReuseWithDifferentBodyAndForgetsFailures() {
+		IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, 60_000);
+		assertEquals(1, cache.get("k", A, () -> CompletableFuture.completedFuture(1)).join());
+		CompletionException reuse = assertThrows(CompletionException.class,
+				() -> cache.get("k", B, () -> CompletableFuture.completedFuture(2)).join());
+		assertTrue(reuse.getCause() instanceof IdempotencyCache.KeyReuseException);
+
+		assertThrows(CompletionException.class,
+				() -> cache.get("f", A, () -> CompletableFuture.failedFuture(new IllegalStateException())).join());
+		assertEquals(3, cache.get("f", A, () -> CompletableFuture.completedFuture(3)).join());
+	}
+
+	@Test
+	void replaysOnlyKeptResults() {
+		IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, 60_000, value -> value >= 0);
+		assertEquals(-1, cache.get("k", A, () -> CompletableFuture.completedFuture(-1)).join());
+		assertEquals(0, cache.size());
+		assertEquals(5, cache.get("k", A, () -> CompletableFuture.completedFuture(5)).join());
+		assertEquals(5, cache.get("k", A, () -> CompletableFuture.completedFuture(6)).join());
+		// the same body digested twice is the same request
+		assertEquals(5, cache.get("k", A.clone(), () -> CompletableFuture.completedFuture(7)).join());
+	}
+
+	@Test
+	void boundedAndExpiring() throws Exception {
+		IdempotencyCache<Integer> bounded = new IdempotencyCache<>(10, 60_000);
+		for (int i = 0; i < 1000; i++) {
+			int value = i;
+			bounded.get("k" + i, null, () -> CompletableFuture.completedFuture(value));
+		}
+		assertTrue(bounded.size() <= 11, () -> "size " + bounded.size());
+
+		IdempotencyCache<Integer> expiring = new IdempotencyCache<>(10, 1);
+		expiring.get("k", null, () -> CompletableFuture.completedFuture(1));
+		Thread.sleep(5);
+		assertEquals(2, expiring.get("k", null, () -> CompletableFuture.completedFuture(2)).join());
+	}
+}
@@ -0,0 +1,114 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionWrapper;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PracticeServiceTests {
+
+	private static final int QUESTIONS = 50;
+
+	@Autowired
+	PracticeService practiceService;
+	@Autowired
+	QuestionDao questionDao;
+	@Autowired
+	JdbcTemplate jdbc;
+
+	String category;
+	List<Integer> ids;
+
+	@BeforeEach
+	void seed() {
+		category = "practice-" + System.nanoTime();
+		ids = new ArrayList<>();
+		for (int i = 0; i < QUESTIONS; i++) {
+			Question q = new Question();
+			q.setQuestion_title("Practice " + i);
+			q.setOption1("a");
+			q.setRight_answer("a");
+			q.setCategory(category);
+			ids.add(questionDao.save(q).getId());
+		}
+	}
+
+	@Test
+	void servedIdsAreDistinct() throws Exception {
+		long idleEvictMs = practiceService.idleEvictMs;
+		// every flush evicts the user, racing each request's lookup
+		practiceService.idleEvictMs = -1;
+		AtomicBoolean running = new AtomicBoolean(true);
+		Thread flusher = new Thread(() -> {
+			while (running.get()) {
+				practiceService.flush();
+			}
+		});
+		flusher.start();
+		try {
+			List<Integer> served = serveAll("distinct");
+			assertEquals(served.size(), new HashSet<>(served).size(), served::toString);
+			assertEquals(new HashSet<>(ids), new HashSet<>(served));
+		} finally {
+			running.set(false);
+			flusher.join();
+			practiceService.idleEvictMs = idleEvictMs;
+		}
+	}
+
+	@Test
+	void mergesOtherNodesProgress() {
+		String username = "merge-" + System.nanoTime();
+		practiceService.next(username, category);
+		practiceService.flush();
+
+		// another node has served the first half meanwhile and written its own set
+		CompressedBitSet remote = new CompressedBitSet();
+		ids.subList(0, QUESTIONS / 2).forEach(remote::add);
+		jdbc.update("UPDATE practice_progress SET seen = ? WHERE username = ?", remote.toBytes(), username);
+
+		practiceService.next(username, category);
+		practiceService.flush();
+		CompressedBitSet stored = CompressedBitSet.fromBytes(
+				jdbc.queryForObject("SELECT seen FROM practice_progress WHERE username = ?", byte[].class, username));
+		for (int id : ids.subList(0, QUESTIONS / 2)) {
+			assertTrue(stored.contains(id), "remote mark " + id + " lost");
+		}
+
+		Set<Integer> served = new HashSet<>(serveAll(username));
+		for (int id : ids.subList(0, QUESTIONS / 2)) {
+			assertFalse(served.contains(id), "served " + id + " again");
+		}
+	}
+
+	private List<Integer> serveAll(String username) {
+		List<Integer> served = new ArrayList<>();
+		while (true) {
+			ResponseEntity<QuestionWrapper> response = practiceService.next(username, category);
+			if (response.getStatusCode() == HttpStatus.NO_CONTENT) {
+				return served;
+			}
+			served.add(response.getBody().getId());
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Model.BulkResult;
+import com.example.demo.Model.Question;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QuestionServiceTests {
+
+	// more than two ID_CHUNKs
+	private static final int QUESTIONS = 2500;
+
+	@Autowired
+	QuestionService questionService;
+	@Autowired
+	PracticeService practiceService;
+	@Autowired
+	QuestionDao questionDao;
+
+	String category;
+	List<Integer> ids;
+
+	@BeforeEach
+	void seed() {
+		category = "bulk-" + System.nanoTime();
+		List<Question> questions = new ArrayList<>();
+		for (int i = 0; i < QUESTIONS; i++) {
+			Question q = new Question();
+			q.setQuestion_title("Bulk " + i);
+			q.setOption1("a");
+			q.setRight_answer("a");
+			q.setCategory(category);
+			q.setDifficultylevel("hard");
+			questions.add(q);
+		}
+		ids = questionDao.saveAll(questions).stream().map(Question::getId).toList();
+	}
+
+	@Test
+	void bulkDeleteRemovesRowsCachedQuestionsAndRingEntries() {
+		assertEquals(QUESTIONS, practiceService.ring(category).length);
+		questionDao.findById(ids.get(0)).orElseThrow();
+
+		List<Integer> doomed = new ArrayList<>(ids.subList(0, 2100));
+		doomed.add(-1);
+		BulkResult result = questionService.deleteQuestions(doomed).getBody();
+
+		assertEquals(new BulkResult(2100, 1), result);
+		Set<Integer> left = new HashSet<>(ids.subList(2100, QUESTIONS));
+		assertEquals(left, questionDao.findIdsByCategory(category).stream().collect(Collectors.toSet()));
+		assertTrue(questionDao.findById(ids.get(0)).isEmpty());
+		assertEquals(left, Arrays.stream(practiceService.ring(category)).boxed().collect(Collectors.toSet()));
+	}
+
+	@Test
+	void bulkUpdateCountsEachQuestionOnce() {
+		assertEquals(QUESTIONS, practiceService.ring(category).length);
+		String moved = category + "-moved";
+		List<Integer> changed = new ArrayList<>(ids);
+		changed.add(-1);
+		BulkResult result = questionService
+				.bulkUpdate(new QuestionService.BulkUpdate(changed, null, moved, "easy")).getBody();
+
+		assertEquals(new BulkResult(QUESTIONS, 1), result);
+		List<Question> rows = questionDao.findByCategory(moved);
+		assertEquals(QUESTIONS, rows.size());
+		assertTrue(rows.stream().allMatch(q -> "easy".equals(q.getDifficultylevel())));
+		assertEquals(0, practiceService.ring(category).length);
+		assertEquals(QUESTIONS, practiceService.ring(moved).length);
+	}
+}
@@ -0,0 +1,118 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuizDao;
+import com.example.demo.Dao.QuizSnapshotDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionWrapper;
+import com.example.demo.Model.Quiz;
+import com.example.demo.Model.QuizResult;
+import com.example.demo.Model.Response;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QuizServiceTests {
+
+	private static final int QUIZ_SIZE = 4;
+
+	@Autowired
+	QuizService quizService;
+	@Autowired
+	QuestionDao questionDao;
+	@Autowired
+	QuizDao quizDao;
+	@Autowired
+	QuizSnapshotDao snapshotDao;
+
+	String category;
+	int quizId;
+
+	@BeforeEach
+	void seed() {
+		category = "snapshot-" + System.nanoTime();
+		for (int i = 0; i < QUIZ_SIZE; i++) {
+			Question q = new Question();
+			q.setQuestion_title("Original " + i);
+			q.setOption1("right " + i);
+			q.setOption2("wrong " + i);
+			q.setRight_answer("right " + i);
+			q.setCategory(category);
+			questionDao.save(q);
+		}
+		assertEquals(HttpStatus.CREATED, quizService.createQuize(category, QUIZ_SIZE, category).getStatusCode());
+		quizId = quizDao.findAll().stream().filter(q -> q.getTitle().equals(category)).mapToInt(Quiz::getId)
+				.findFirst().orElseThrow();
+	}
+
+	@Test
+	void snapshotStaysFixedAfterQuestionsAreEdited() {
+		List<Response> original = new ArrayList<>();
+		for (Question q : questionDao.findByCategory(category)) {
+			original.add(response(q.getId(), q.getRight_answer()));
+			q.setQuestion_title("Edited");
+			q.setOption1("edited");
+			q.setRight_answer("edited");
+			questionDao.save(q);
+		}
+
+		List<QuestionWrapper> served = quizService.getQuizQuestions(quizId, "candidate").getBody();
+		Set<String> titles = served.stream().map(QuestionWrapper::getQuestion_title).collect(Collectors.toSet());
+		assertEquals(Set.of("Original 0", "Original 1", "Original 2", "Original 3"), titles);
+		QuizResult result = quizService.calculateResult(quizId, original).getBody();
+		assertEquals(QUIZ_SIZE, result.score());
+	}
+
+	@Test
+	void concurrentFirstReadsShareOneSnapshot() throws Exception {
+		// as after a restore: the quiz exists, its snapshot does not yet
+		snapshotDao.deleteById(quizId);
+		int readers = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(readers);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<ResponseEntity<List<QuestionWrapper>>>> reads = new ArrayList<>();
+			for (int i = 0; i < readers; i++) {
+				String username = "reader-" + i;
+				reads.add(pool.submit(() -> {
+					start.await();
+					return quizService.getQuizQuestions(quizId, username);
+				}));
+			}
+			start.countDown();
+			for (Future<ResponseEntity<List<QuestionWrapper>>> read : reads) {
+				ResponseEntity<List<QuestionWrapper>> response = read.get();
+				assertEquals(HttpStatus.OK, response.getStatusCode());
+				assertEquals(QUIZ_SIZE, response.getBody().size());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(QUIZ_SIZE, snapshotDao.findById(quizId).orElseThrow().getQuestionCount());
+	}
+
+	private static Response response(int id, String answer) {
+		Response r = new Response();
+		r.setId(id);
+		r.setResponse(answer);
+		return r;
+	}
+}
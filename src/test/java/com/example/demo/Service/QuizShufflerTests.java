@@ -0,0 +1,59 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.Model.QuestionWrapper;
+
+class QuizShufflerTests {
+
+	private static final String JWT_SECRET = "mySecretKeyThatIsAtLeast256BitsLongForHS256Algorithm";
+
+	@Test
+	void sameUserGetsTheSameOrderOnEveryFetch() {
+		List<QuestionWrapper> questions = questions(12);
+		QuizShuffler shuffler = new QuizShuffler(true, "", JWT_SECRET);
+		List<QuestionWrapper> first = shuffler.shuffle(questions, "alice", 7);
+		assertEquals(first, shuffler.shuffle(questions, "alice", 7));
+		// another node with the same configuration renders the same order
+		assertEquals(first, new QuizShuffler(true, "", JWT_SECRET).shuffle(questions, "alice", 7));
+		assertEquals(Set.copyOf(questions.stream().map(QuestionWrapper::getId).toList()),
+				Set.copyOf(first.stream().map(QuestionWrapper::getId).toList()));
+	}
+
+	@Test
+	void differentUsersGetDifferentOrders() {
+		List<QuestionWrapper> questions = questions(12);
+		QuizShuffler shuffler = new QuizShuffler(true, "", JWT_SECRET);
+		Set<List<Integer>> orders = new HashSet<>();
+		for (int user = 0; user < 20; user++) {
+			orders.add(shuffler.shuffle(questions, "user-" + user, 7).stream().map(QuestionWrapper::getId).toList());
+		}
+		assertEquals(20, orders.size());
+		assertNotEquals(shuffler.shuffle(questions, "alice", 7), shuffler.shuffle(questions, "alice", 8));
+	}
+
+	@Test
+	void keyIsNeverTheJwtSecret() {
+		assertThrows(IllegalArgumentException.class, () -> new QuizShuffler(true, JWT_SECRET, JWT_SECRET));
+		List<QuestionWrapper> questions = questions(12);
+		assertNotEquals(new QuizShuffler(true, "", JWT_SECRET).shuffle(questions, "alice", 7),
+				new QuizShuffler(true, "another secret", JWT_SECRET).shuffle(questions, "alice", 7));
+	}
+
+	private static List<QuestionWrapper> questions(int count) {
+		List<QuestionWrapper> questions = new ArrayList<>();
+		for (int i = 1; i <= count; i++) {
+			questions.add(new QuestionWrapper(i, "Question " + i, "a" + i, "b" + i, "c" + i, "d" + i, List.of()));
+		}
+		return questions;
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.demo.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.Model.Question;
+import com.example.demo.Model.QuestionWrapper;
+import com.example.demo.Model.QuizResult;
+import com.example.demo.Model.QuizSnapshot;
+import com.example.demo.Model.Response;
+
+class QuizSnapshotCodecTests {
+
+	@Test
+	void questionsAndAnswersRoundTrip() {
+		Question first = question(11, "Ünïcødé – 問題?", "a", "b", null, "", "b");
+		Question second = question(42, "", null, null, null, null, null);
+		QuizSnapshot snapshot = QuizSnapshotCodec.freeze(7, List.of(first, second),
+				Map.of(11, List.of("ref-1", "ref-2")));
+		assertEquals(7, snapshot.getQuizId());
+		assertEquals(QuizSnapshotCodec.FORMAT_VERSION, snapshot.getVersion());
+		assertEquals(2, snapshot.getQuestionCount());
+
+		List<QuestionWrapper> questions = QuizSnapshotCodec.readQuestions(snapshot);
+		assertEquals(2, questions.size());
+		assertWrapper(first, List.of("ref-1", "ref-2"), questions.get(0));
+		assertWrapper(second, List.of(), questions.get(1));
+
+		QuizSnapshotCodec.AnswerKey key = QuizSnapshotCodec.readAnswerKey(snapshot);
+		assertEquals(2, key.size());
+		QuizResult result = key.score(List.of(response(11, "b"), response(42, "anything")));
+		assertEquals(List.of(new QuizResult.QuestionResult(11, true, true),
+				new QuizResult.QuestionResult(42, true, false)), result.questions());
+		assertNull(key.score(List.of(response(12, "b"))));
+	}
+
+	private static void assertWrapper(Question expected, List<String> media, QuestionWrapper actual) {
+		assertEquals(expected.getId(), actual.getId());
+		assertEquals(expected.getQuestion_title(), actual.getQuestion_title());
+		assertEquals(expected.getOption1(), actual.getOption1());
+		assertEquals(expected.getOption2(), actual.getOption2());
+		assertEquals(expected.getOption3(), actual.getOption3());
+		assertEquals(expected.getOption4(), actual.getOption4());
+		assertEquals(media, actual.getMedia());
+	}
+
+	private static Question question(int id, String title, String option1, String option2, String option3,
+			String option4, String answer) {
+		Question q = new Question();
+		q.setId(id);
+		q.setQuestion_title(title);
+		q.setOption1(option1);
+		q.setOption2(option2);
+		q.setOption3(option3);
+		q.setOption4(option4);
+		q.setRight_answer(answer);
+		return q;
+	}
+
+	private static Response response(int id, String answer) {
+		Response r = new Response();
+		r.setId(id);
+		r.setResponse(answer);
+		return r;
+	}
+}
@@ -0,0 +1,157 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadTests {
+
+    @Test
+    void excessRequestsGet503() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Bulkhead user = new Bulkhead("user", 1, 1, 1000, registry);
+        BulkheadFilter filter = new BulkheadFilter(new Bulkhead("admin", 1, 0, 100, registry), user);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<MockHttpServletResponse> holder = CompletableFuture.supplyAsync(() -> filter(filter,
+                "/user/quiz/get/1", () -> {
+                    running.countDown();
+                    await(release);
+                }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // one may wait, and gives up after the timeout; a second finds the queue full
+        CompletableFuture<MockHttpServletResponse> queued = CompletableFuture.supplyAsync(() -> filter(filter,
+                "/user/quiz/get/1", () -> {
+                }));
+        while (registry.get("quiz.bulkhead.queued").tag("bulkhead", "user").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+        MockHttpServletResponse rejected = filter(filter, "/user/quiz/get/1", () -> {
+        });
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(503, queued.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(1.0, registry.get("quiz.bulkhead.rejected").tag("bulkhead", "user").tag("reason", "queue_full")
+                .counter().count());
+        assertEquals(1.0, registry.get("quiz.bulkhead.rejected").tag("bulkhead", "user").tag("reason", "timeout")
+                .counter().count());
+
+        release.countDown();
+        assertEquals(200, holder.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(200, filter(filter, "/user/quiz/get/1", () -> {
+        }).getStatus());
+    }
+
+    @Test
+    void adminTrafficIsIsolatedFromUserTraffic() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BulkheadFilter filter = new BulkheadFilter(new Bulkhead("admin", 1, 0, 100, registry),
+                new Bulkhead("user", 1, 0, 100, registry));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<MockHttpServletResponse> user = CompletableFuture.supplyAsync(() -> filter(filter,
+                "/user/quiz/get/1", () -> {
+                    assertEquals(DataSourcePartition.USER, DataSourcePartition.current());
+                    running.countDown();
+                    await(release);
+                }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertEquals(503, filter(filter, "/auth/login", () -> {
+        }).getStatus());
+        DataSourcePartition[] seen = new DataSourcePartition[1];
+        assertEquals(200, filter(filter, "/admin/quiz/all", () -> seen[0] = DataSourcePartition.current())
+                .getStatus());
+        assertEquals(DataSourcePartition.ADMIN, seen[0]);
+        assertEquals(DataSourcePartition.BACKGROUND, DataSourcePartition.current());
+        release.countDown();
+        assertEquals(200, user.get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void exhaustedUserPoolLeavesAdminAndBackgroundConnections() throws Exception {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:bulkhead-pools");
+        properties.setUsername("sa");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.connection-init-sql", "SELECT 1")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "50");
+        AbstractRoutingDataSource routing = (AbstractRoutingDataSource) new BulkheadConfig()
+                .dataSource(properties, new SimpleMeterRegistry(), environment, 1, 250, 1, 250, 1, 250);
+        Map<Object, DataSource> pools = routing.getResolvedDataSources();
+        try {
+            for (DataSource pool : pools.values()) {
+                HikariDataSource hikari = (HikariDataSource) pool;
+                // shared Hikari settings are bound, the partition's own size wins
+                assertEquals("SELECT 1", hikari.getConnectionInitSql());
+                assertEquals(1, hikari.getMaximumPoolSize());
+            }
+
+            DataSourcePartition.set(DataSourcePartition.USER);
+            try (Connection held = routing.getConnection()) {
+                assertThrows(SQLException.class, routing::getConnection);
+                try (Connection lookup = DataSourcePartition.BACKGROUND.getConnection(routing)) {
+                    assertTrue(lookup.isValid(1));
+                }
+                assertEquals(DataSourcePartition.USER, DataSourcePartition.current());
+                DataSourcePartition.set(DataSourcePartition.ADMIN);
+                try (Connection admin = routing.getConnection()) {
+                    assertTrue(admin.isValid(1));
+                }
+            } finally {
+                DataSourcePartition.clear();
+            }
+        } finally {
+            pools.values().forEach(pool -> ((HikariDataSource) pool).close());
+        }
+    }
+
+    @Test
+    void bulkheadsMustLeaveServerThreads() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Bulkhead admin = new Bulkhead("admin", 4, 16, 100, registry);
+        assertThrows(IllegalStateException.class, () -> new BulkheadConfig().bulkheadFilter(admin,
+                new Bulkhead("user", 150, 300, 100, registry), 200));
+        new BulkheadConfig().bulkheadFilter(admin, new Bulkhead("user", 150, 20, 100, registry), 200);
+    }
+
+    private static MockHttpServletResponse filter(BulkheadFilter filter, String path, Runnable work) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, (req, res) -> work.run());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
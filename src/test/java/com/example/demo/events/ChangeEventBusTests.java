@@ -0,0 +1,93 @@
+package com.example.demo.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.demo.events.ChangeEvent.Action;
+import com.example.demo.events.ChangeEvent.Entity;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChangeEventBusTests {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ChangeEventBus eventBus;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void listenersAndSubscribersReceiveLocalEvents() throws Exception {
+        List<ChangeEvent> received = new CopyOnWriteArrayList<>();
+        eventBus.addListener(received::add);
+        MvcResult stream = mockMvc.perform(get("/user/events/stream")).andExpect(request().asyncStarted())
+                .andReturn();
+        awaitTrue(() -> eventBus.subscriberCount() > 0);
+
+        // ids no other test uses, so listeners in this context ignore them
+        eventBus.publish(Entity.QUESTION, Action.UPDATED, -27);
+
+        awaitTrue(() -> received.stream().anyMatch(e -> e.id() == -27));
+        ChangeEvent event = received.stream().filter(e -> e.id() == -27).findFirst().orElseThrow();
+        assertTrue(eventBus.isLocal(event));
+        assertEquals(Action.UPDATED, event.action());
+        awaitTrue(() -> content(stream).contains("event:change") && content(stream).contains("-27"));
+    }
+
+    @Test
+    void otherNodesEventsArriveOnceThroughTheTransport() throws Exception {
+        List<ChangeEvent> here = new CopyOnWriteArrayList<>();
+        eventBus.addListener(here::add);
+        InProcessChangeEventTransport otherTransport = new InProcessChangeEventTransport();
+        ChangeEventBus otherNode = new ChangeEventBus(otherTransport, 16, 1000);
+        List<ChangeEvent> there = new CopyOnWriteArrayList<>();
+        otherNode.addListener(there::add);
+        try {
+            otherNode.publish(Entity.QUESTION, Action.UPDATED, -28);
+            assertEquals(1, here.stream().filter(e -> e.id() == -28).count());
+            assertFalse(eventBus.isLocal(here.stream().filter(e -> e.id() == -28).findFirst().orElseThrow()));
+            // the publisher delivers its own event once, not again when the transport echoes it
+            assertEquals(1, there.stream().filter(e -> e.id() == -28).count());
+
+            eventBus.publish(Entity.QUESTION, Action.UPDATED, -29);
+            assertEquals(1, there.stream().filter(e -> e.id() == -29).count());
+        } finally {
+            otherTransport.close();
+            otherNode.close();
+        }
+    }
+
+    private static String content(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demo.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuizDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Service.QuizService;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@SpringBootTest(properties = { "management.endpoints.web.exposure.include=jfr", "quiz.jfr.dump-dir=target/jfr-dumps" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FlightRecorderEventsTests {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    QuestionDao questionDao;
+    @Autowired
+    QuizDao quizDao;
+    @Autowired
+    QuizService quizService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void quizLifecycleIsRecorded() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            Question q = new Question();
+            q.setQuestion_title("JFR " + i);
+            q.setOption1("a");
+            q.setRight_answer("a");
+            q.setCategory("jfr");
+            questionDao.save(q);
+        }
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(AuthenticationEvent.class);
+            recording.enable(QuizCreateEvent.class);
+            recording.enable(QuizQuestionsEvent.class);
+            recording.enable(QuizScoreEvent.class);
+            recording.enable(RepositoryCallEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            quizService.createQuize("jfr", 3, "Recorded");
+            int quizId = quizDao.findAll().stream().mapToInt(q -> q.getId()).max().getAsInt();
+            mockMvc.perform(get("/user/quiz/get/" + quizId)).andExpect(status().isOk());
+            mockMvc.perform(post("/user/quiz/submit/" + quizId).contentType(MediaType.APPLICATION_JSON).content("[]"))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/user/quiz/get/999999")).andExpect(status().isNotFound());
+
+            // the dump endpoint snapshots whatever recording is running
+            byte[] dump = mockMvc.perform(get("/actuator/jfr")).andExpect(status().isOk()).andReturn().getResponse()
+                    .getContentAsByteArray();
+            assertTrue(dump.length > 0);
+            // the staged file is gone once the response has been written
+            try (Stream<Path> staged = Files.list(Path.of("target/jfr-dumps"))) {
+                assertEquals(List.of(), staged.filter(f -> f.getFileName().toString().startsWith("quiz-snapshot-"))
+                        .toList());
+            }
+
+            recording.stop();
+            Path file = Files.createTempFile("quiz-events", ".jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+            Files.delete(file);
+        }
+
+        RecordedEvent created = only(events, "com.example.quiz.QuizCreate");
+        assertEquals("created", created.getString("outcome"));
+        assertEquals(3, created.getInt("questionCount"));
+        int quizId = created.getInt("quizId");
+
+        List<RecordedEvent> reads = named(events, "com.example.quiz.QuizQuestions");
+        assertEquals(2, reads.size());
+        assertTrue(reads.stream().anyMatch(e -> e.getInt("quizId") == quizId && e.getInt("questionCount") == 3
+                && e.getString("outcome").equals("ok")));
+        assertTrue(reads.stream().anyMatch(e -> e.getString("outcome").equals("not-found")));
+
+        RecordedEvent scored = only(events, "com.example.quiz.QuizScore");
+        assertEquals(quizId, scored.getInt("quizId"));
+        assertEquals("scored", scored.getString("outcome"));
+
+        // mock users carry no bearer token
+        assertTrue(named(events, "com.example.quiz.Authentication").stream()
+                .allMatch(e -> e.getString("outcome").equals("anonymous")));
+        assertTrue(named(events, "com.example.quiz.RepositoryCall").stream()
+                .anyMatch(e -> e.getString("repository").equals("QuestionDao")
+                        && e.getString("method").equals("findRandomQuestionsByCategory") && e.getInt("rows") == 3));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void dumpIsAdminOnly() throws Exception {
+        mockMvc.perform(get("/actuator/jfr")).andExpect(status().isForbidden());
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = named(events, name);
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demo.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Service.QuestionBankArchiveService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Round-trips the question table through the binary archive and through the
+ * JSON API (GET allQuestions, then one POST addQuestions per question, the
+ * way environments were seeded before archives existed) and fails unless the
+ * archive is at least {@code loadtest.min-bank-speedup} times faster. Each
+ * path runs twice and the faster run counts, so JIT warm-up favours neither.
+ *
+ * <pre>
+ * ./mvnw -Ploadtest test -Dtest=BankRestoreBenchmarkTest -Dloadtest.bank-questions=20000
+ * </pre>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BankRestoreBenchmarkTest {
+
+	private static final int QUESTIONS = Integer.getInteger("loadtest.bank-questions", 5000);
+	private static final double MIN_SPEEDUP = Double.parseDouble(System.getProperty("loadtest.min-bank-speedup", "10"));
+
+	@Autowired
+	MockMvc mockMvc;
+	@Autowired
+	ObjectMapper objectMapper;
+	@Autowired
+	JdbcTemplate jdbc;
+	@Autowired
+	QuestionDao questionDao;
+	@Autowired
+	QuestionBankArchiveService archives;
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void binaryRoundTripIsFasterThanJson() throws Exception {
+		long json = Long.MAX_VALUE;
+		long binary = Long.MAX_VALUE;
+		for (int run = 0; run < 2; run++) {
+			seed();
+			json = Math.min(json, jsonRoundTrip());
+			seed();
+			binary = Math.min(binary, binaryRoundTrip());
+		}
+		double speedup = (double) json / binary;
+		System.out.printf("Bank round trip, %d questions: json=%.1f ms binary=%.1f ms speedup=%.1fx%n", QUESTIONS,
+				json / 1e6, binary / 1e6, speedup);
+		assertTrue(speedup >= MIN_SPEEDUP, () -> String.format("binary is only %.1fx faster than JSON", speedup));
+	}
+
+	private long jsonRoundTrip() throws Exception {
+		long start = System.nanoTime();
+		String exported = mockMvc.perform(get("/admin/question/allQuestions")).andExpect(status().isOk()).andReturn()
+				.getResponse().getContentAsString();
+		List<Map<String, Object>> questions = objectMapper.readValue(exported, new TypeReference<>() {
+		});
+		clear();
+		for (Map<String, Object> question : questions) {
+			question.remove("id");
+			mockMvc.perform(post("/admin/question/addQuestions").contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(question))).andExpect(status().isCreated());
+		}
+		long elapsed = System.nanoTime() - start;
+		assertEquals(QUESTIONS, questionDao.count());
+		return elapsed;
+	}
+
+	private long binaryRoundTrip() throws Exception {
+		long start = System.nanoTime();
+		archives.export("benchmark.bin");
+		clear();
+		QuestionBankArchiveService.Counts counts = archives.restore("benchmark.bin");
+		long elapsed = System.nanoTime() - start;
+		assertEquals(QUESTIONS, counts.questions());
+		assertEquals(QUESTIONS, questionDao.count());
+		return elapsed;
+	}
+
+	private void seed() {
+		clear();
+		List<Question> questions = new ArrayList<>();
+		for (int i = 0; i < QUESTIONS; i++) {
+			Question q = new Question();
+			q.setQuestion_title("Benchmark question " + i + " with a title of typical length?");
+			q.setOption1("First option " + i);
+			q.setOption2("Second option " + i);
+			q.setOption3("Third option " + i);
+			q.setOption4("Fourth option " + i);
+			q.setRight_answer("First option " + i);
+			q.setCategory("category-" + i % 20);
+			q.setDifficultylevel(i % 3 == 0 ? "easy" : "hard");
+			questions.add(q);
+		}
+		questionDao.saveAll(questions);
+	}
+
+	private void clear() {
+		jdbc.update("DELETE FROM quiz_snapshot");
+		jdbc.update("DELETE FROM question_media");
+		jdbc.update("DELETE FROM quiz_question");
+		jdbc.update("DELETE FROM quiz");
+		jdbc.update("DELETE FROM question");
+	}
+}
@@ -0,0 +1,180 @@
+package com.example.demo.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuizDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Service.QuizService;
+import com.example.demo.loadtest.LoadGenerator.EndpointStats;
+import com.example.demo.loadtest.LoadGenerator.Rate;
+import com.example.reactive.ReactiveCandidateApplication;
+
+/**
+ * Offers the same bursty candidate load (quiz fetch, submit, quiz list) to
+ * the servlet/JPA stack and then to the WebFlux/R2DBC stack, both reading the
+ * same database, and prints the two reports. Uses embedded H2 unless pointed
+ * at a local Postgres with {@code -Dspring.datasource.url=jdbc:postgresql://...}
+ * and {@code -Dspring.r2dbc.url=r2dbc:postgresql://...}. Thresholds are the
+ * same as {@link QuizLoadTest} and apply to both stacks.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class CandidateApiComparisonTest {
+
+	private static final long WARMUP_S = Long.getLong("loadtest.warmup-s", 5);
+	private static final long DURATION_S = Long.getLong("loadtest.duration-s", 20);
+	private static final double SCALE = Double.parseDouble(System.getProperty("loadtest.scale", "1"));
+	private static final double MAX_P99_MS = Double.parseDouble(System.getProperty("loadtest.max-p99-ms", "500"));
+	private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.001"));
+	private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+	@LocalServerPort
+	int servletPort;
+	@Autowired
+	QuestionDao questionDao;
+	@Autowired
+	QuizDao quizDao;
+	@Autowired
+	QuizService quizService;
+
+	ConfigurableApplicationContext reactive;
+	HttpClient http;
+	List<Integer> quizIds;
+	Map<Integer, List<Integer>> questionIds;
+	String token;
+
+	@BeforeEach
+	void seed() throws Exception {
+		http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor())
+				.connectTimeout(Duration.ofSeconds(5)).build();
+		for (int i = 0; i < 200; i++) {
+			Question q = new Question();
+			q.setQuestion_title("Load question " + i);
+			q.setOption1("a");
+			q.setOption2("b");
+			q.setOption3("c");
+			q.setOption4("d");
+			q.setRight_answer("a");
+			q.setDifficultylevel("medium");
+			q.setCategory("load");
+			questionDao.save(q);
+		}
+		for (int i = 0; i < 20; i++) {
+			quizService.createQuize("load", 10, "Load quiz " + i);
+		}
+		quizIds = quizDao.findAll().stream().map(q -> q.getId()).toList();
+		questionIds = quizDao.findAll().stream().collect(Collectors.toMap(q -> q.getId(),
+				q -> q.getQuestions().stream().map(Question::getId).toList()));
+		String credentials = "{\"username\":\"compare-user\",\"password\":\"secret\"}";
+		send(post(servletPort, "/auth/register", credentials, null));
+		Matcher m = TOKEN.matcher(send(post(servletPort, "/auth/login", credentials, null)).body());
+		if (!m.find()) {
+			throw new IllegalStateException("Login failed");
+		}
+		token = m.group(1);
+		reactive = ReactiveCandidateApplication.builder().profiles("test").run();
+	}
+
+	@AfterEach
+	void stopReactive() {
+		if (reactive != null) {
+			reactive.close();
+		}
+	}
+
+	@Test
+	void servletVersusReactive() throws Exception {
+		int reactivePort = Integer.parseInt(reactive.getEnvironment().getProperty("local.server.port"));
+		List<EndpointStats> servlet = new LoadGenerator().run(rates(servletPort), WARMUP_S, DURATION_S);
+		List<EndpointStats> webflux = new LoadGenerator().run(rates(reactivePort), WARMUP_S, DURATION_S);
+		System.out.println("\nServlet + JPA" + LoadGenerator.report(servlet));
+		System.out.println("\nWebFlux + R2DBC" + LoadGenerator.report(webflux));
+
+		List<String> violations = new ArrayList<>();
+		check("servlet", servlet, violations);
+		check("reactive", webflux, violations);
+		assertTrue(violations.isEmpty(), () -> "Load thresholds exceeded: " + violations);
+	}
+
+	private List<Rate> rates(int port) {
+		return List.of(
+				new Rate("fetch", 200 * SCALE, steps -> steps.step("GET /user/quiz/get/{id}",
+						() -> send(get(port, "/user/quiz/get/" + randomQuiz())).statusCode())),
+				new Rate("submit", 100 * SCALE, steps -> steps.step("POST /user/quiz/submit/{id}",
+						() -> {
+							int quiz = randomQuiz();
+							return send(post(port, "/user/quiz/submit/" + quiz, answers(quiz), token)).statusCode();
+						})),
+				new Rate("list", 5 * SCALE, steps -> steps.step("GET /user/quiz/all",
+						() -> send(get(port, "/user/quiz/all")).statusCode())));
+	}
+
+	private static void check(String stack, List<EndpointStats> stats, List<String> violations) {
+		for (EndpointStats s : stats) {
+			double p99 = LoadGenerator.ms(s.latency().getValueAtPercentile(99));
+			if (p99 > MAX_P99_MS) {
+				violations.add(String.format("%s %s p99 %.1f ms > %.1f ms", stack, s.endpoint(), p99, MAX_P99_MS));
+			}
+			if (s.errorRate() > MAX_ERROR_RATE) {
+				violations.add(String.format("%s %s error rate %.4f > %.4f", stack, s.endpoint(), s.errorRate(),
+						MAX_ERROR_RATE));
+			}
+		}
+	}
+
+	private int randomQuiz() {
+		return quizIds.get(ThreadLocalRandom.current().nextInt(quizIds.size()));
+	}
+
+	private String answers(int quizId) {
+		StringBuilder sb = new StringBuilder("[");
+		for (int id : questionIds.get(quizId)) {
+			sb.append(sb.length() == 1 ? "" : ",").append("{\"id\":").append(id).append(",\"response\":\"")
+					.append(ThreadLocalRandom.current().nextBoolean() ? "a" : "b").append("\"}");
+		}
+		return sb.append(']').toString();
+	}
+
+	private HttpRequest get(int port, String path) {
+		return request(port, path, token).GET().build();
+	}
+
+	private HttpRequest post(int port, String path, String json, String bearer) {
+		return request(port, path, bearer).header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json)).build();
+	}
+
+	private HttpRequest.Builder request(int port, String path, String bearer) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.timeout(Duration.ofSeconds(30));
+		return bearer == null ? builder : builder.header("Authorization", "Bearer " + bearer);
+	}
+
+	private HttpResponse<String> send(HttpRequest request) throws Exception {
+		return http.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+}
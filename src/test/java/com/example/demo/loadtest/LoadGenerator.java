@@ -0,0 +1,144 @@
+package com.example.demo.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Recorder;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-model load generator. Each scenario fires at a fixed arrival rate on
+ * virtual threads regardless of how fast the server answers, and the first
+ * step of every iteration is timed from its intended start, not its actual
+ * start. A stalled server therefore shows up in the percentiles instead of
+ * silently lowering the offered load (coordinated omission).
+ */
+class LoadGenerator {
+
+	/** One user action; a step records its latency under an endpoint name. */
+	interface Scenario {
+		void run(Steps steps) throws Exception;
+	}
+
+	interface Step {
+		int call() throws Exception;
+	}
+
+	record Rate(String name, double perSecond, Scenario scenario) {
+	}
+
+	record EndpointStats(String endpoint, Histogram latency, long requests, long errors, double seconds) {
+		double throughput() {
+			return requests / seconds;
+		}
+
+		double errorRate() {
+			return requests == 0 ? 0 : (double) errors / requests;
+		}
+	}
+
+	private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+	/** Per-iteration timing context handed to a scenario. */
+	class Steps {
+		private long startNanos;
+
+		Steps(long intendedStartNanos) {
+			this.startNanos = intendedStartNanos;
+		}
+
+		void step(String endpoint, Step step) throws Exception {
+			int status;
+			try {
+				status = step.call();
+			} catch (Exception e) {
+				status = -1;
+			}
+			long end = System.nanoTime();
+			recorders.computeIfAbsent(endpoint, k -> new Recorder(3)).recordValue(Math.max(0, end - startNanos));
+			requests.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+			startNanos = end;
+			if (status < 200 || status >= 300) {
+				errors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+				throw new IllegalStateException(endpoint + " returned " + status);
+			}
+		}
+	}
+
+	List<EndpointStats> run(List<Rate> rates, long warmupSeconds, long durationSeconds) throws InterruptedException {
+		drive(rates, warmupSeconds);
+		recorders.clear();
+		requests.clear();
+		errors.clear();
+		long start = System.nanoTime();
+		drive(rates, durationSeconds);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		Map<String, EndpointStats> stats = new TreeMap<>();
+		recorders.forEach((endpoint, recorder) -> stats.put(endpoint, new EndpointStats(endpoint,
+				recorder.getIntervalHistogram(), requests.get(endpoint).sum(),
+				errors.getOrDefault(endpoint, new LongAdder()).sum(), seconds)));
+		return new ArrayList<>(stats.values());
+	}
+
+	private void drive(List<Rate> rates, long seconds) throws InterruptedException {
+		try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Thread> pacers = new ArrayList<>();
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+			for (Rate rate : rates) {
+				pacers.add(Thread.ofVirtual().name("pacer-" + rate.name()).start(() -> pace(rate, deadline, workers)));
+			}
+			for (Thread pacer : pacers) {
+				pacer.join();
+			}
+		}
+	}
+
+	private void pace(Rate rate, long deadline, ExecutorService workers) {
+		long interval = (long) (1e9 / rate.perSecond());
+		long next = System.nanoTime();
+		while (next < deadline) {
+			long now = System.nanoTime();
+			if (now < next) {
+				LockSupport.parkNanos(next - now);
+				continue;
+			}
+			long intended = next;
+			workers.execute(() -> {
+				try {
+					rate.scenario().run(new Steps(intended));
+				} catch (Exception e) {
+					// already counted as an error by the failing step
+				}
+			});
+			next += interval;
+		}
+	}
+
+	static String report(List<EndpointStats> stats) {
+		StringBuilder sb = new StringBuilder(String.format("%n%-32s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+				"endpoint", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "requests", "errors"));
+		for (EndpointStats s : stats) {
+			Histogram h = s.latency();
+			sb.append(String.format("%-32s %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9d %7d%n", s.endpoint(),
+					s.throughput(), ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+					ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()),
+					s.requests(), s.errors()));
+		}
+		return sb.toString();
+	}
+
+	static double ms(long nanos) {
+		return nanos / 1e6;
+	}
+}
@@ -0,0 +1,196 @@
+package com.example.demo.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuizDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Service.QuizService;
+import com.example.demo.loadtest.LoadGenerator.EndpointStats;
+import com.example.demo.loadtest.LoadGenerator.Rate;
+import com.example.demo.security.model.User;
+import com.example.demo.security.repo.RoleRepository;
+import com.example.demo.security.repo.UserRepository;
+
+/**
+ * Exam-season load test through the real HTTP stack against embedded H2.
+ * Excluded from the default build; run with {@code mvn -Ploadtest test}.
+ * Rates are per second and scaled by {@code loadtest.scale}; the build fails
+ * if any endpoint exceeds {@code loadtest.max-p99-ms} or
+ * {@code loadtest.max-error-rate}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class QuizLoadTest {
+
+	private static final long WARMUP_S = Long.getLong("loadtest.warmup-s", 5);
+	private static final long DURATION_S = Long.getLong("loadtest.duration-s", 20);
+	private static final double SCALE = Double.parseDouble(System.getProperty("loadtest.scale", "1"));
+	private static final double MAX_P99_MS = Double.parseDouble(System.getProperty("loadtest.max-p99-ms", "500"));
+	private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.001"));
+	private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+	@LocalServerPort
+	int port;
+	@Autowired
+	QuestionDao questionDao;
+	@Autowired
+	QuizDao quizDao;
+	@Autowired
+	QuizService quizService;
+	@Autowired
+	UserRepository userRepository;
+	@Autowired
+	RoleRepository roleRepository;
+	@Autowired
+	PasswordEncoder passwordEncoder;
+
+	HttpClient http;
+	List<Integer> quizIds;
+	Map<Integer, List<Integer>> questionIds;
+	String userToken;
+	String adminToken;
+	final AtomicInteger users = new AtomicInteger();
+
+	@BeforeEach
+	void seed() throws Exception {
+		http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor())
+				.connectTimeout(Duration.ofSeconds(5)).build();
+		for (int i = 0; i < 200; i++) {
+			Question q = new Question();
+			q.setQuestion_title("Load question " + i);
+			q.setOption1("a");
+			q.setOption2("b");
+			q.setOption3("c");
+			q.setOption4("d");
+			q.setRight_answer("a");
+			q.setDifficultylevel("medium");
+			q.setCategory("load");
+			questionDao.save(q);
+		}
+		for (int i = 0; i < 20; i++) {
+			quizService.createQuize("load", 10, "Load quiz " + i);
+		}
+		quizIds = quizDao.findAll().stream().map(q -> q.getId()).toList();
+		questionIds = quizDao.findAll().stream().collect(Collectors.toMap(q -> q.getId(),
+				q -> q.getQuestions().stream().map(Question::getId).toList()));
+
+		User admin = new User();
+		admin.setUsername("load-admin");
+		admin.setPassword(passwordEncoder.encode("secret"));
+		admin.setRoles(Set.of(roleRepository.findById("ADMIN").orElseThrow()));
+		userRepository.save(admin);
+		adminToken = login("load-admin", "secret");
+		register("load-user");
+		userToken = login("load-user", "secret");
+	}
+
+	@Test
+	void examSeason() throws Exception {
+		List<Rate> rates = List.of(
+				new Rate("auth", 5 * SCALE, steps -> {
+					String name = "user-" + users.incrementAndGet();
+					steps.step("POST /auth/register", () -> register(name));
+					steps.step("POST /auth/login", () -> send(post("/auth/login", credentials(name), null)).statusCode());
+				}),
+				new Rate("fetch", 200 * SCALE, steps -> steps.step("GET /user/quiz/get/{id}",
+						() -> send(get("/user/quiz/get/" + randomQuiz(), userToken)).statusCode())),
+				new Rate("submit", 100 * SCALE, steps -> steps.step("POST /user/quiz/submit/{id}",
+						() -> {
+							int quiz = randomQuiz();
+							return send(post("/user/quiz/submit/" + quiz, answers(quiz), userToken)).statusCode();
+						})),
+				new Rate("create", 2 * SCALE, steps -> steps.step("POST /admin/quiz/create",
+						() -> send(post("/admin/quiz/create?category=load&numQ=10&title=t", "", adminToken))
+								.statusCode())));
+
+		List<EndpointStats> stats = new LoadGenerator().run(rates, WARMUP_S, DURATION_S);
+		System.out.println(LoadGenerator.report(stats));
+
+		List<String> violations = new ArrayList<>();
+		for (EndpointStats s : stats) {
+			double p99 = LoadGenerator.ms(s.latency().getValueAtPercentile(99));
+			if (p99 > MAX_P99_MS) {
+				violations.add(String.format("%s p99 %.1f ms > %.1f ms", s.endpoint(), p99, MAX_P99_MS));
+			}
+			if (s.errorRate() > MAX_ERROR_RATE) {
+				violations.add(String.format("%s error rate %.4f > %.4f", s.endpoint(), s.errorRate(), MAX_ERROR_RATE));
+			}
+		}
+		assertTrue(violations.isEmpty(), () -> "Load thresholds exceeded: " + violations);
+	}
+
+	private int randomQuiz() {
+		return quizIds.get(ThreadLocalRandom.current().nextInt(quizIds.size()));
+	}
+
+	private String answers(int quizId) {
+		StringBuilder sb = new StringBuilder("[");
+		for (int id : questionIds.get(quizId)) {
+			sb.append(sb.length() == 1 ? "" : ",").append("{\"id\":").append(id).append(",\"response\":\"")
+					.append(ThreadLocalRandom.current().nextBoolean() ? "a" : "b").append("\"}");
+		}
+		return sb.append(']').toString();
+	}
+
+	private static String credentials(String name) {
+		return "{\"username\":\"" + name + "\",\"password\":\"secret\"}";
+	}
+
+	private int register(String name) throws Exception {
+		return send(post("/auth/register", credentials(name), null)).statusCode();
+	}
+
+	private String login(String name, String password) throws Exception {
+		HttpResponse<String> response = send(post("/auth/login",
+				"{\"username\":\"" + name + "\",\"password\":\"" + password + "\"}", null));
+		Matcher m = TOKEN.matcher(response.body());
+		if (!m.find()) {
+			throw new IllegalStateException("Login failed: " + response.statusCode() + " " + response.body());
+		}
+		return m.group(1);
+	}
+
+	private HttpRequest get(String path, String token) {
+		return request(path, token).GET().build();
+	}
+
+	private HttpRequest post(String path, String json, String token) {
+		return request(path, token).header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json)).build();
+	}
+
+	private HttpRequest.Builder request(String path, String token) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.timeout(Duration.ofSeconds(30));
+		return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+	}
+
+	private HttpResponse<String> send(HttpRequest request) throws Exception {
+		return http.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+}
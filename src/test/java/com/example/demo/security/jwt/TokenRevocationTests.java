@@ -0,0 +1,87 @@
+package com.example.demo.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.demo.security.model.RevokedToken;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenRevocationTests {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Value("${jwt.secret}")
+    String secret;
+
+    @Test
+    void revokedTokenIsRejectedByTheFilter() throws Exception {
+        String token = login("revoked-frank");
+        mockMvc.perform(get("/user/quiz/all").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        assertRejected(token);
+    }
+
+    @Test
+    void tokenWithoutIdRevokesItsUser() throws Exception {
+        login("revoked-grace");
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .setSubject("revoked-grace")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .compact();
+        mockMvc.perform(get("/user/quiz/all").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        assertRejected(token);
+    }
+
+    @Test
+    void userCutoffIsComparedInWholeSeconds() {
+        long second = 1_700_000_000_000L;
+        RevocationSet set = RevocationSet.of(
+                List.of(new RevokedToken("henry", RevokedToken.Kind.USER, second + 500, second + 60_000)), 16, 0.01);
+        // iat carries whole seconds only: a login right after the revocation must still work
+        assertFalse(set.isRevoked(null, "henry", second));
+        assertTrue(set.isRevoked(null, "henry", second - 1000));
+        assertFalse(set.isRevoked(null, "ivy", second - 1000));
+    }
+
+    private String login(String username) throws Exception {
+        String credentials = "{\"username\":\"" + username + "\",\"password\":\"secret\"}";
+        mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON).content(credentials));
+        String body = mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andReturn().getResponse().getContentAsString();
+        return body.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+    }
+
+    private void assertRejected(String token) throws Exception {
+        int status = mockMvc.perform(get("/user/quiz/all").header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus();
+        assertTrue(status == 401 || status == 403, "status " + status);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.demo.NewQuizApplication;
+import com.example.demo.Dao.QuestionDao;
+import com.example.demo.Dao.QuizDao;
+import com.example.demo.Dao.QuizSnapshotDao;
+import com.example.demo.Model.Question;
+import com.example.demo.Service.QuizService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Runs the reactive candidate API next to the servlet application on the
+ * same embedded database and checks that both return the same questions,
+ * scores and quiz list for the same token, and that the reactive side honours
+ * revocations made through the servlet side.
+ */
+@SpringBootTest(classes = NewQuizApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ReactiveCandidateApiTests {
+
+	private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+	private static ConfigurableApplicationContext reactive;
+
+	@LocalServerPort
+	int servletPort;
+	@Autowired
+	QuestionDao questionDao;
+	@Autowired
+	QuizDao quizDao;
+	@Autowired
+	QuizSnapshotDao snapshotDao;
+	@Autowired
+	QuizService quizService;
+
+	final HttpClient http = HttpClient.newHttpClient();
+	final ObjectMapper json = new ObjectMapper();
+	int reactivePort;
+	List<Integer> quizIds;
+	Map<Integer, List<Integer>> questionIds;
+
+	@BeforeEach
+	void start() {
+		if (reactive == null) {
+			reactive = ReactiveCandidateApplication.builder().profiles("test").run("--jwt.denylist.refresh-ms=100");
+		}
+		reactivePort = Integer.parseInt(reactive.getEnvironment().getProperty("local.server.port"));
+		quizDao.deleteAll();
+		snapshotDao.deleteAll();
+		questionDao.deleteAll();
+		for (int i = 0; i < 6; i++) {
+			Question q = new Question();
+			q.setQuestion_title("Question " + i);
+			q.setOption1("a");
+			q.setOption2("b");
+			q.setOption3("c");
+			q.setOption4("d");
+			q.setRight_answer(i % 2 == 0 ? "a" : "b");
+			q.setDifficultylevel("easy");
+			q.setCategory("reactive");
+			questionDao.save(q);
+		}
+		for (int i = 0; i < 3; i++) {
+			quizService.createQuize("reactive", 4, "Quiz " + i);
+		}
+		quizIds = quizDao.findAll().stream().map(q -> q.getId()).toList();
+		questionIds = quizDao.findAll().stream().collect(Collectors.toMap(q -> q.getId(),
+				q -> q.getQuestions().stream().map(Question::getId).toList()));
+	}
+
+	@AfterAll
+	static void stop() {
+		if (reactive != null) {
+			reactive.close();
+		}
+	}
+
+	@Test
+	void bothStacksAnswerAlike() throws Exception {
+		String token = registerAndLogin("parity-user");
+		// drop one snapshot so the reactive side has to freeze it
+		snapshotDao.deleteById(quizIds.get(0));
+
+		for (int id : quizIds) {
+			HttpResponse<String> reactiveQuestions = send(reactivePort, "GET", "/user/quiz/get/" + id, null, token);
+			assertEquals(200, reactiveQuestions.statusCode());
+			assertEquals(json.readTree(send(servletPort, "GET", "/user/quiz/get/" + id, null, token).body()),
+					json.readTree(reactiveQuestions.body()));
+
+			// out of order, one question left out
+			List<Integer> ids = questionIds.get(id);
+			String answers = "[{\"id\":" + ids.get(2) + ",\"response\":\"a\"},{\"id\":" + ids.get(0)
+					+ ",\"response\":\"b\"},{\"id\":" + ids.get(1) + ",\"response\":\"a\"}]";
+			HttpResponse<String> reactiveResult = send(reactivePort, "POST", "/user/quiz/submit/" + id, answers, token);
+			assertEquals(200, reactiveResult.statusCode());
+			assertEquals(json.readTree(send(servletPort, "POST", "/user/quiz/submit/" + id, answers, token).body()),
+					json.readTree(reactiveResult.body()));
+			String foreign = "[{\"id\":999999,\"response\":\"a\"}]";
+			assertEquals(400, send(servletPort, "POST", "/user/quiz/submit/" + id, foreign, token).statusCode());
+			assertEquals(400, send(reactivePort, "POST", "/user/quiz/submit/" + id, foreign, token).statusCode());
+		}
+		assertTrue(snapshotDao.existsById(quizIds.get(0)));
+		assertEquals(json.readTree(send(servletPort, "GET", "/user/quiz/all", null, token).body()),
+				json.readTree(send(reactivePort, "GET", "/user/quiz/all", null, token).body()));
+		assertEquals(404, send(reactivePort, "GET", "/user/quiz/get/999999", null, token).statusCode());
+	}
+
+	@Test
+	void rejectsMissingInvalidAndRevokedTokens() throws Exception {
+		String path = "/user/quiz/get/" + quizIds.get(0);
+		assertEquals(401, send(reactivePort, "GET", path, null, null).statusCode());
+		assertEquals(401, send(reactivePort, "GET", path, null, "not-a-jwt").statusCode());
+
+		String token = registerAndLogin("revoked-user");
+		assertEquals(200, send(reactivePort, "GET", path, null, token).statusCode());
+		assertEquals(200, send(servletPort, "POST", "/auth/logout", null, token).statusCode());
+		int status = 200;
+		for (int i = 0; i < 50 && status == 200; i++) {
+			Thread.sleep(100);
+			status = send(reactivePort, "GET", path, null, token).statusCode();
+		}
+		assertEquals(401, status);
+	}
+
+	private String registerAndLogin(String name) throws Exception {
+		String credentials = "{\"username\":\"" + name + "\",\"password\":\"secret\"}";
+		send(servletPort, "POST", "/auth/register", credentials, null);
+		Matcher m = TOKEN.matcher(send(servletPort, "POST", "/auth/login", credentials, null).body());
+		assertTrue(m.find());
+		return m.group(1);
+	}
+
+	private HttpResponse<String> send(int port, String method, String path, String body, String token)
+			throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Content-Type", "application/json")
+				.method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+						: HttpRequest.BodyPublishers.ofString(body));
+		if (token != null) {
+			request.header("Authorization", "Bearer " + token);
+		}
+		return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+}